@@ -0,0 +1,90 @@
+package com.virginmoney.transaction.config;
+
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead in front of the database: at most {@code transaction.db.bulkhead.max-concurrent} threads (the
+ * Hikari pool size by default) are inside {@link com.virginmoney.transaction.service.TransactionServiceImpl},
+ * {@link com.virginmoney.transaction.service.TransactionQueryService}, a {@code @Transactional} method or a
+ * JDBC repository at once. That covers the streamed export, import chunks and the sketch reads and flushes
+ * as well as the request paths. Other callers queue on a fair semaphore, and are rejected with
+ * {@link DatabaseBusyException} once {@code transaction.db.bulkhead.acquire-timeout} passes. With virtual
+ * threads there is no request thread pool to cap concurrency, so this keeps a burst from stampeding the
+ * connection pool.
+ *
+ * A thread takes one permit at its outermost call and keeps it through the nested ones, so a service's
+ * repository calls never wait on permits their caller holds. The aspect runs before the transaction advice,
+ * so a permit is held before a connection is taken.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "transaction.db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBulkheadAspect.class);
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutNanos;
+
+    private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> false);
+
+    public DatabaseBulkheadAspect(@Value("${transaction.db.bulkhead.max-concurrent}") int maxConcurrent,
+                                  @Value("${transaction.db.bulkhead.acquire-timeout:2s}") Duration acquireTimeout,
+                                  MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        Gauge.builder("transaction.db.bulkhead.queued", permits, Semaphore::getQueueLength).register(meterRegistry);
+        Gauge.builder("transaction.db.bulkhead.available", permits, Semaphore::availablePermits).register(meterRegistry);
+    }
+
+    @Around("execution(public * com.virginmoney.transaction.service.TransactionServiceImpl.*(..)) || " +
+            "execution(public * com.virginmoney.transaction.service.TransactionQueryService.*(..)) || " +
+            "@annotation(org.springframework.transaction.annotation.Transactional) || " +
+            "execution(public * org.springframework.data.repository.Repository+.*(..)) || " +
+            "execution(public * com.virginmoney.transaction.repo.TransactionAggregationRepo.*(..))")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holding.get()) {
+            return joinPoint.proceed();
+        }
+        acquire(joinPoint);
+        holding.set(true);
+        try {
+            return joinPoint.proceed();
+        }
+        finally {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    private void acquire(ProceedingJoinPoint joinPoint) {
+        try {
+            if (permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        logger.warn("Database bulkhead full - rejected {}", joinPoint.getSignature().getName());
+        throw new DatabaseBusyException("Database is busy, please retry");
+    }
+}
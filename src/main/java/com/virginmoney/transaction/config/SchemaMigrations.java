@@ -0,0 +1,111 @@
+package com.virginmoney.transaction.config;
+
+import com.virginmoney.transaction.model.CategoryMonthlySketchEntity;
+import com.virginmoney.transaction.model.CategoryMonthlySummaryEntity;
+import com.virginmoney.transaction.model.TransactionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves a database written by an earlier version onto the current schema. It runs before Hibernate's schema
+ * update, which only adds tables, columns and indexes that are missing, one method per step:
+ * <ul>
+ *     <li>{@link #migrateAmountsToMinorUnits}: transaction {@code amount} (double pounds) becomes
+ *     {@code amount_minor} (bigint pence) plus {@code currency}, backfilled as GBP. Left alone, the old
+ *     NOT NULL {@code amount} column would reject every insert</li>
+ *     <li>{@link #dropDoubleSummaryTable}: category_monthly_summary is dropped when it still has double
+ *     columns; Hibernate recreates it and
+ *     {@link com.virginmoney.transaction.service.TransactionSummaryRebuildRunner} refills it</li>
+ *     <li>{@link #setInsertIfAbsentDefaults}: category_monthly_summary and category_monthly_sketch get the
+ *     column defaults that the insert-if-absent of a new month relies on</li>
+ *     <li>{@link #dropCategoryDateIndex}: the {@code (category, date)} index is dropped; Hibernate creates
+ *     {@link TransactionEntity#CATEGORY_DATE_INDEX} over {@code (category, date DESC, id DESC)} in its place</li>
+ * </ul>
+ * Every step is guarded, so the migrations are a no-op on a fresh or already migrated database and can
+ * resume after an interrupted run.
+ */
+@Component
+public class SchemaMigrations implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaMigrations(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor schemaMigrationsDependsOn() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SchemaMigrations.class);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrateAmountsToMinorUnits();
+        dropDoubleSummaryTable();
+        setInsertIfAbsentDefaults();
+        dropCategoryDateIndex();
+    }
+
+    private void migrateAmountsToMinorUnits() {
+        if (!hasColumn("TRANSACTION", "AMOUNT")) {
+            return;
+        }
+        logger.info("Migrating transaction amounts to minor units");
+
+        jdbcTemplate.execute("ALTER TABLE transaction ADD COLUMN IF NOT EXISTS amount_minor BIGINT");
+        jdbcTemplate.execute("ALTER TABLE transaction ADD COLUMN IF NOT EXISTS currency VARCHAR(3)");
+        int rows = jdbcTemplate.update("UPDATE transaction SET amount_minor = CAST(ROUND(amount * 100) AS BIGINT), " +
+                "currency = 'GBP' WHERE amount_minor IS NULL");
+        jdbcTemplate.execute("ALTER TABLE transaction ALTER COLUMN amount_minor SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE transaction ALTER COLUMN currency SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE transaction DROP COLUMN amount");
+
+        logger.info("Migrated {} transaction amounts to minor units", rows);
+    }
+
+    private void dropDoubleSummaryTable() {
+        if (hasColumn("CATEGORY_MONTHLY_SUMMARY", "TOTAL_AMOUNT")) {
+            logger.info("Dropping category monthly summary for rebuild in minor units");
+            jdbcTemplate.execute("DROP TABLE category_monthly_summary");
+        }
+    }
+
+    /**
+     * Hibernate only sets column defaults when it creates the table.
+     */
+    private void setInsertIfAbsentDefaults() {
+        if (hasColumn("CATEGORY_MONTHLY_SUMMARY", "LOWEST_MINOR")) {
+            jdbcTemplate.execute("ALTER TABLE category_monthly_summary ALTER COLUMN transaction_count SET DEFAULT 0");
+            jdbcTemplate.execute("ALTER TABLE category_monthly_summary ALTER COLUMN total_minor SET DEFAULT 0");
+            jdbcTemplate.execute("ALTER TABLE category_monthly_summary ALTER COLUMN lowest_minor SET DEFAULT "
+                    + CategoryMonthlySummaryEntity.LOWEST_DEFAULT);
+            jdbcTemplate.execute("ALTER TABLE category_monthly_summary ALTER COLUMN highest_minor SET DEFAULT "
+                    + CategoryMonthlySummaryEntity.HIGHEST_DEFAULT);
+        }
+        if (hasColumn("CATEGORY_MONTHLY_SKETCH", "AMOUNT_SKETCH")) {
+            jdbcTemplate.execute("ALTER TABLE category_monthly_sketch ALTER COLUMN amount_sketch SET DEFAULT "
+                    + CategoryMonthlySketchEntity.EMPTY_SKETCH);
+            jdbcTemplate.execute("ALTER TABLE category_monthly_sketch ALTER COLUMN vendor_sketch SET DEFAULT "
+                    + CategoryMonthlySketchEntity.EMPTY_SKETCH);
+        }
+    }
+
+    private void dropCategoryDateIndex() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_transaction_category_date");
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Integer columns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND COLUMN_NAME = ?", Integer.class, table, column);
+        return columns != null && columns > 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.dto.CacheStatisticsDto;
+import com.virginmoney.transaction.service.CachingTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/cache")
+@ConditionalOnProperty(name = "transaction.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheStatisticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatisticsController.class);
+
+    private final CachingTransactionService cachingTransactionService;
+
+    @GetMapping("/statistics")
+    public ResponseEntity<Map<String, CacheStatisticsDto>> getCacheStatistics() {
+        logger.debug("Request Method: GET, URI: /transaction/cache/statistics");
+        return new ResponseEntity<>(cachingTransactionService.getStatistics(), HttpStatus.OK);
+    }
+}
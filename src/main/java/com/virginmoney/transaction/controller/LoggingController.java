@@ -0,0 +1,35 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.logging.RequestLoggingFilter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/logging")
+public class LoggingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingController.class);
+
+    private final RequestLoggingFilter requestLoggingFilter;
+
+    @GetMapping("/debug-sample-rate")
+    public ResponseEntity<Double> getDebugSampleRate() {
+        return new ResponseEntity<>(requestLoggingFilter.getDebugSampleRate(), HttpStatus.OK);
+    }
+
+    @PutMapping("/debug-sample-rate")
+    public ResponseEntity<Double> setDebugSampleRate(@RequestParam double rate) {
+        requestLoggingFilter.setDebugSampleRate(rate);
+        logger.warn("Debug log sample rate set to {}", requestLoggingFilter.getDebugSampleRate());
+        return new ResponseEntity<>(requestLoggingFilter.getDebugSampleRate(), HttpStatus.OK);
+    }
+}
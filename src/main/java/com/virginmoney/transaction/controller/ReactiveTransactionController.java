@@ -0,0 +1,121 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionColumnsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.service.CategoryVersions;
+import com.virginmoney.transaction.service.ReactiveTransactionService;
+import com.virginmoney.transaction.service.TransactionWriteBehindQueue;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * The {@link TransactionController} routes on WebFlux, active with the {@code reactive} profile.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransactionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTransactionController.class);
+
+    private final ReactiveTransactionService transactionService;
+
+    private final Optional<TransactionWriteBehindQueue> writeBehindQueue;
+
+    private final CategoryVersions categoryVersions;
+
+    @PostMapping("/save")
+    public Mono<ResponseEntity<?>> saveTransactions(@RequestBody List<TransactionRequestDto> transactionRequests) {
+        logger.debug("Request Method: POST, URI: /transaction, Params : TransactionList of Size {}", transactionRequests.size());
+        if (writeBehindQueue.isPresent()) {
+            // enqueue waits for the journal's fsync
+            return Mono.<ResponseEntity<?>>fromCallable(() -> TransactionController.accepted(writeBehindQueue.get().enqueue(transactionRequests)))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        return transactionService.saveTransactions(transactionRequests).map(TransactionController::created);
+    }
+
+    @GetMapping("/{category}")
+    public Mono<ResponseEntity<List<TransactionDto>>> getLatestByCategory(@PathVariable() String category,
+                                                                          @RequestParam(defaultValue = "${transaction.latest.default-limit:20}") int limit,
+                                                                          ServerWebExchange exchange) {
+        logger.debug("Request Method: GET, URI: /transaction/category, Params: {}, {}", category, limit);
+        return conditional(category, exchange, () -> transactionService.getLatestByCategory(category, limit));
+    }
+
+    @GetMapping(value = "/{category}", produces = TransactionColumnsDto.MEDIA_TYPE)
+    public Mono<ResponseEntity<TransactionColumnsDto>> getLatestColumnsByCategory(@PathVariable() String category,
+                                                                                  @RequestParam(defaultValue = "${transaction.latest.default-limit:20}") int limit,
+                                                                                  ServerWebExchange exchange) {
+        logger.debug("Request Method: GET, URI: /transaction/category, Accept: {}, Params: {}, {}", TransactionColumnsDto.MEDIA_TYPE, category, limit);
+        return conditional(category, exchange, () -> transactionService.getLatestByCategory(category, limit)
+                .map(transactions -> TransactionMapper.toColumns(category, transactions)));
+    }
+
+    @GetMapping(value = "/{category}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionDto> streamByCategory(@PathVariable() String category) {
+        logger.debug("Request Method: GET, URI: /transaction/category/stream, Params: {}", category);
+        return transactionService.streamLatestByCategory(category);
+    }
+
+    @GetMapping("/totalspend/{category}")
+    public Mono<ResponseEntity<BigDecimal>> getTotalSpendByCategory(@PathVariable() String category,
+                                                                   ServerWebExchange exchange) {
+        logger.debug("Request Method: GET, URI: /transaction/totalspend/category, Params: {}", category);
+        return conditional(category, exchange, () -> transactionService.getTotalSpendByCategory(category));
+    }
+
+    @GetMapping("/yearlyStatistics/{category}")
+    public Mono<ResponseEntity<StatisticsDto>> getYearlyStatisticsByCategory(@PathVariable() String category, @RequestParam() int year,
+                                                                            ServerWebExchange exchange) {
+        logger.debug("Request Method: GET, URI: /transaction/yearlyStatistics/category, Params: {}, {}", category, year);
+        return conditional(category, exchange, () -> transactionService.getYearlyStatisticsByCategory(category, year));
+    }
+
+    @GetMapping("/monthlyAverage/{category}")
+    public Mono<ResponseEntity<Map<String, BigDecimal>>> getMonthlyAverageByCategory(@PathVariable() String category,
+                                                                                     ServerWebExchange exchange) {
+        logger.debug("Request Method: GET, URI: /transaction/monthlyAverage/category, Params: {}", category);
+        return conditional(category, exchange, () -> transactionService.getMonthlyAverageByCategory(category));
+    }
+
+    /**
+     * Same conditional handling as {@link TransactionController}: 304 from the category's version before
+     * the query is subscribed to.
+     */
+    private <T> Mono<ResponseEntity<T>> conditional(String category, ServerWebExchange exchange, Supplier<Mono<T>> body) {
+        CategoryVersions.Version version = categoryVersions.current(category);
+        exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ACCEPT));
+        Instant lastModified = version.lastModified() != null ? version.lastModified() : Instant.MIN;
+        if (exchange.checkNotModified(version.etag(), lastModified)) {
+            logger.debug("Response Status: {}, Category: {}, ETag: {}", HttpStatus.NOT_MODIFIED, category, version.etag());
+            return Mono.empty();
+        }
+        return body.get().map(result -> ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(result));
+    }
+}
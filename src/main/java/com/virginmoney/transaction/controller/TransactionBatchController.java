@@ -0,0 +1,57 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.dto.BatchResultDto;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.service.TransactionBatchService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/batch")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TransactionBatchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchController.class);
+
+    private final TransactionBatchService batchService;
+
+    @GetMapping("/latest")
+    public ResponseEntity<BatchResultDto<List<TransactionDto>>> getLatestByCategories(@RequestParam List<String> categories,
+                                                                                      @RequestParam(defaultValue = "${transaction.latest.default-limit:20}") int limit){
+        logger.debug("Request Method: GET, URI: /transaction/batch/latest, Params: {}, {}", categories, limit);
+        return new ResponseEntity<>(batchService.getLatestByCategories(categories, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/totalspend")
+    public ResponseEntity<BatchResultDto<BigDecimal>> getTotalSpendByCategories(@RequestParam List<String> categories){
+        logger.debug("Request Method: GET, URI: /transaction/batch/totalspend, Params: {}", categories);
+        return new ResponseEntity<>(batchService.getTotalSpendByCategories(categories), HttpStatus.OK);
+    }
+
+    @GetMapping("/monthlyAverage")
+    public ResponseEntity<BatchResultDto<Map<String, BigDecimal>>> getMonthlyAverageByCategories(@RequestParam List<String> categories){
+        logger.debug("Request Method: GET, URI: /transaction/batch/monthlyAverage, Params: {}", categories);
+        return new ResponseEntity<>(batchService.getMonthlyAverageByCategories(categories), HttpStatus.OK);
+    }
+
+    @GetMapping("/yearlyStatistics")
+    public ResponseEntity<BatchResultDto<StatisticsDto>> getYearlyStatisticsByCategories(@RequestParam List<String> categories,
+                                                                                         @RequestParam int year){
+        logger.debug("Request Method: GET, URI: /transaction/batch/yearlyStatistics, Params: {}, {}", categories, year);
+        return new ResponseEntity<>(batchService.getYearlyStatisticsByCategories(categories, year), HttpStatus.OK);
+    }
+}
@@ -1,56 +1,166 @@
 package com.virginmoney.transaction.controller;
 
 
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SaveTicketDto;
+import com.virginmoney.transaction.dto.SpendDistributionDto;
 import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionColumnsDto;
 import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionPageDto;
 import com.virginmoney.transaction.dto.TransactionRequestDto;
-import com.virginmoney.transaction.service.TransactionServiceImpl;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.service.CategoryVersions;
+import com.virginmoney.transaction.service.TransactionService;
+import com.virginmoney.transaction.service.TransactionStreamService;
+import com.virginmoney.transaction.service.TransactionWriteBehindQueue;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/transaction")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TransactionController {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
 
-    private final TransactionServiceImpl transactionService;
+    /**
+     * Header on the save response with the number of transactions skipped as already saved.
+     */
+    public static final String DEDUPLICATED_HEADER = "X-Deduplicated-Count";
 
+    private final TransactionService transactionService;
+
+    private final TransactionStreamService transactionStreamService;
+
+    private final Optional<TransactionWriteBehindQueue> writeBehindQueue;
+
+    private final CategoryVersions categoryVersions;
+
+    /**
+     * 201 with the saved transactions, or 202 with a ticket when the write-behind queue is enabled.
+     */
    @PostMapping("/save")
-    public ResponseEntity<List<TransactionDto>> saveTransactions(@RequestBody List<TransactionRequestDto> transactionRequests) {
-        logger.info("Request Method: POST, URI: /transaction, Params : TransactionList of Size {}", transactionRequests.size());
-        return transactionService.saveTransactions(transactionRequests);
+    public ResponseEntity<?> saveTransactions(@RequestBody List<TransactionRequestDto> transactionRequests) {
+        logger.debug("Request Method: POST, URI: /transaction, Params : TransactionList of Size {}", transactionRequests.size());
+        if (writeBehindQueue.isPresent()) {
+            return accepted(writeBehindQueue.get().enqueue(transactionRequests));
+        }
+        return created(transactionService.saveTransactions(transactionRequests));
     }
 
     @GetMapping("/{category}")
-    public ResponseEntity<List<TransactionDto>> getLatestByCategory(@PathVariable() String category){
-        logger.info("Request Method: GET, URI: /transaction/category, Params: {}", category);
-        return transactionService.getLatestByCategory(category);
+    public ResponseEntity<List<TransactionDto>> getLatestByCategory(@PathVariable() String category,
+                                                                    @RequestParam(defaultValue = "${transaction.latest.default-limit:20}") int limit,
+                                                                    WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/category, Params: {}, {}", category, limit);
+        return conditional(category, request, () -> transactionService.getLatestByCategory(category, limit));
+    }
+
+    /**
+     * The same transactions as {@link #getLatestByCategory} in columns, for {@code Accept: }{@value TransactionColumnsDto#MEDIA_TYPE}.
+     */
+    @GetMapping(value = "/{category}", produces = TransactionColumnsDto.MEDIA_TYPE)
+    public ResponseEntity<TransactionColumnsDto> getLatestColumnsByCategory(@PathVariable() String category,
+                                                                            @RequestParam(defaultValue = "${transaction.latest.default-limit:20}") int limit,
+                                                                            WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/category, Accept: {}, Params: {}, {}", TransactionColumnsDto.MEDIA_TYPE, category, limit);
+        return conditional(category, request,
+                () -> TransactionMapper.toColumns(category, transactionService.getLatestByCategory(category, limit)));
+    }
+
+    @GetMapping("/{category}/page")
+    public ResponseEntity<TransactionPageDto> getPageByCategory(@PathVariable() String category,
+                                                                @RequestParam(defaultValue = "${transaction.page.default-limit:50}") int limit,
+                                                                @RequestParam(required = false) String cursor,
+                                                                WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/category/page, Params: {}, {}", category, limit);
+        return conditional(category, request, () -> transactionService.getPageByCategory(category, limit, cursor));
+    }
+
+    @GetMapping(value = "/{category}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamByCategory(@PathVariable() String category){
+        logger.debug("Request Method: GET, URI: /transaction/category/stream, Params: {}", category);
+        StreamingResponseBody body = transactionStreamService.streamLatestByCategory(category)::writeTo;
+        return new ResponseEntity<>(body, HttpStatus.OK);
     }
 
     @GetMapping("/totalspend/{category}")
-    public ResponseEntity<Double> getTotalSpendByCategory(@PathVariable() String category){
-        logger.info("Request Method: GET, URI: /transaction/totalspend/category, Params: {}", category);
-        return transactionService.getTotalSpendByCategory(category);
+    public ResponseEntity<BigDecimal> getTotalSpendByCategory(@PathVariable() String category, WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/totalspend/category, Params: {}", category);
+        return conditional(category, request, () -> transactionService.getTotalSpendByCategory(category));
     }
 
     @GetMapping("/yearlyStatistics/{category}")
-    public ResponseEntity<StatisticsDto> getYearlyStatisticsByCategory(@PathVariable() String category, @RequestParam() int year){
-        logger.info("Request Method: GET, URI: /transaction/monthlyAverage/category, Params: {}", category, year);
-        return transactionService.getYearlyStatisticsByCategory(category, year);
+    public ResponseEntity<StatisticsDto> getYearlyStatisticsByCategory(@PathVariable() String category, @RequestParam() int year,
+                                                                       WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/yearlyStatistics/{}, Params: {}", category, year);
+        return conditional(category, request, () -> transactionService.getYearlyStatisticsByCategory(category, year));
+    }
+
+    @GetMapping("/yearlyDistribution/{category}")
+    public ResponseEntity<SpendDistributionDto> getYearlyDistributionByCategory(@PathVariable() String category, @RequestParam() int year,
+                                                                                WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/yearlyDistribution/category, Params: {}, {}", category, year);
+        return conditional(category, request, () -> transactionService.getYearlyDistributionByCategory(category, year));
     }
 
     @GetMapping("/monthlyAverage/{category}")
-    public ResponseEntity<Map<String, Double>> getMonthlyAverageByCategory(@PathVariable() String category){
-        logger.info("Request Method: GET, URI: /transaction/monthlyAverage/category, Params: {}", category);
-       return transactionService.getMonthlyAverageByCategory(category);
+    public ResponseEntity<Map<String, BigDecimal>> getMonthlyAverageByCategory(@PathVariable() String category, WebRequest request){
+        logger.debug("Request Method: GET, URI: /transaction/monthlyAverage/category, Params: {}", category);
+       return conditional(category, request, () -> transactionService.getMonthlyAverageByCategory(category));
+    }
+
+    /**
+     * 304 straight from the category's version when the client's {@code If-None-Match} or
+     * {@code If-Modified-Since} is still current, otherwise the body with its ETag and
+     * Last-Modified, the latter left out while {@link CategoryVersions} withholds it. The version is read
+     * before the body, so a save committing in between only makes the next poll refetch.
+     * {@code no-cache} makes clients revalidate each time rather than reuse the response on heuristic freshness.
+     * The body's encoding follows {@code Accept}, so shared caches are told to key on it.
+     */
+    private <T> ResponseEntity<T> conditional(String category, WebRequest request, Supplier<T> body) {
+        CategoryVersions.Version version = categoryVersions.current(category);
+        long lastModified = version.lastModified() != null ? version.lastModified().toEpochMilli() : -1;
+        if (request.checkNotModified(version.etag(), lastModified)) {
+            logger.debug("Response Status: {}, Category: {}, ETag: {}", HttpStatus.NOT_MODIFIED, category, version.etag());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+
+    static ResponseEntity<List<TransactionDto>> created(SaveResultDto result) {
+        logger.debug("Response Status: {}, Saved: {}, Deduplicated: {}",
+                HttpStatus.CREATED, result.transactions().size(), result.deduplicated());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(DEDUPLICATED_HEADER, String.valueOf(result.deduplicated()))
+                .body(result.transactions());
+    }
+
+    static ResponseEntity<SaveTicketDto> accepted(SaveTicketDto ticket) {
+        logger.debug("Response Status: {}, Ticket: {}, Transactions: {}", HttpStatus.ACCEPTED, ticket.ticket(), ticket.transactions());
+        return new ResponseEntity<>(ticket, HttpStatus.ACCEPTED);
     }
 
 
@@ -0,0 +1,47 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.dto.ImportSummaryDto;
+import com.virginmoney.transaction.service.TransactionImportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/import")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TransactionImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportController.class);
+
+    private final TransactionImportService importService;
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<ImportSummaryDto> importNdjson(InputStream body) throws IOException {
+        logger.debug("Request Method: POST, URI: /transaction/import, Content-Type: application/x-ndjson");
+        return response(importService.importNdjson(body));
+    }
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ImportSummaryDto> importCsv(InputStream body) throws IOException {
+        logger.debug("Request Method: POST, URI: /transaction/import, Content-Type: text/csv");
+        return response(importService.importCsv(body));
+    }
+
+    /**
+     * 200 when every chunk was saved, otherwise the failed chunk's status with the partial summary.
+     */
+    private static ResponseEntity<ImportSummaryDto> response(ImportSummaryDto summary) {
+        HttpStatus status = summary.failure() == null ? HttpStatus.OK : HttpStatus.valueOf(summary.failure().status());
+        return new ResponseEntity<>(summary, status);
+    }
+}
@@ -0,0 +1,32 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.dto.TransactionQueryDto;
+import com.virginmoney.transaction.dto.TransactionQueryResultDto;
+import com.virginmoney.transaction.service.TransactionQueryService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/query")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TransactionQueryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionQueryController.class);
+
+    private final TransactionQueryService queryService;
+
+    @PostMapping
+    public ResponseEntity<TransactionQueryResultDto> query(@RequestBody TransactionQueryDto request) {
+        logger.debug("Request Method: POST, URI: /transaction/query, GroupBy: {}, Metrics: {}", request.groupBy(), request.metrics());
+        return new ResponseEntity<>(queryService.query(request), HttpStatus.OK);
+    }
+}
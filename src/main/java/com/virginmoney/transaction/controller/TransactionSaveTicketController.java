@@ -0,0 +1,31 @@
+package com.virginmoney.transaction.controller;
+
+import com.virginmoney.transaction.dto.SaveTicketDto;
+import com.virginmoney.transaction.service.TransactionWriteBehindQueue;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/save")
+@ConditionalOnProperty(name = "transaction.save.async.enabled", havingValue = "true")
+public class TransactionSaveTicketController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSaveTicketController.class);
+
+    private final TransactionWriteBehindQueue writeBehindQueue;
+
+    @GetMapping("/{ticket}")
+    public ResponseEntity<SaveTicketDto> getTicket(@PathVariable() String ticket) {
+        logger.debug("Request Method: GET, URI: /transaction/save/ticket, Params: {}", ticket);
+        return new ResponseEntity<>(writeBehindQueue.getTicket(ticket), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,12 @@
+package com.virginmoney.transaction.dto;
+
+import com.virginmoney.transaction.model.ErrorResponse;
+
+import java.util.Map;
+
+/**
+ * Per-category outcome of a batch request: every requested category appears in exactly one of the maps,
+ * in request order.
+ */
+public record BatchResultDto<T>(Map<String, T> results, Map<String, ErrorResponse> errors) {
+}
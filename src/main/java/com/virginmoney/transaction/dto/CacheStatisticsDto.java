@@ -0,0 +1,7 @@
+package com.virginmoney.transaction.dto;
+
+import lombok.Builder;
+
+@Builder
+public record CacheStatisticsDto(long size, long hitCount, long missCount, long evictionCount, double hitRate) {
+}
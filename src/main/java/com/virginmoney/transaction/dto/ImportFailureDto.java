@@ -0,0 +1,8 @@
+package com.virginmoney.transaction.dto;
+
+/**
+ * The chunk an import stopped at: lines fromLine to toLine were not saved, nor was anything after them.
+ * {@code status} is what a save of the chunk alone would have been answered with.
+ */
+public record ImportFailureDto(long fromLine, long toLine, int status, String error) {
+}
@@ -0,0 +1,14 @@
+package com.virginmoney.transaction.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code failure} is null when every chunk was saved; otherwise the import stopped
+ * there, and {@code accepted} and {@code deduplicated} count only the chunks committed before it.
+ */
+@Builder
+public record ImportSummaryDto(long accepted, long deduplicated, long rejected, List<RejectedRowDto> rejectedRows,
+                               ImportFailureDto failure, long elapsedMillis) {
+}
@@ -0,0 +1,4 @@
+package com.virginmoney.transaction.dto;
+
+public record RejectedRowDto(long line, String reason) {
+}
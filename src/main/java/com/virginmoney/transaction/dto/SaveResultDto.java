@@ -0,0 +1,10 @@
+package com.virginmoney.transaction.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a save: the transactions saved, and how many were skipped because their idempotency key was
+ * already saved or repeated within the request.
+ */
+public record SaveResultDto(List<TransactionDto> transactions, int deduplicated) {
+}
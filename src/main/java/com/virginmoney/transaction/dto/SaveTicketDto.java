@@ -0,0 +1,11 @@
+package com.virginmoney.transaction.dto;
+
+import com.virginmoney.transaction.model.SaveStatus;
+import lombok.Builder;
+
+/**
+ * Progress of a save accepted by the write-behind queue. The error is only set once the save has failed.
+ */
+@Builder(toBuilder = true)
+public record SaveTicketDto(String ticket, SaveStatus status, int transactions, String error) {
+}
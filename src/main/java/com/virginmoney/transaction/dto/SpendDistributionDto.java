@@ -0,0 +1,18 @@
+package com.virginmoney.transaction.dto;
+
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Approximate spend percentiles and distinct vendor count of a category in a year, read from sketches.
+ * Each percentile is within {@code percentile_rank_error} of its rank (e.g. the p90 lies between the true
+ * p88.7 and p91.3), with 99% confidence. The distinct vendor count lies between its lower and upper bound
+ * with about 95% confidence.
+ */
+@Builder
+public record SpendDistributionDto(long transaction_count, BigDecimal p50_spend, BigDecimal p90_spend,
+                                   BigDecimal p99_spend, double percentile_rank_error, long distinct_vendors,
+                                   long distinct_vendors_lower_bound, long distinct_vendors_upper_bound) {
+}
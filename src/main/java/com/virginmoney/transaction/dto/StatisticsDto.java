@@ -3,6 +3,8 @@ package com.virginmoney.transaction.dto;
 
 import lombok.Builder;
 
+import java.math.BigDecimal;
+
 @Builder
-public record StatisticsDto(double lowest_spend, double highest_spend,  double average_spend) {
+public record StatisticsDto(BigDecimal lowest_spend, BigDecimal highest_spend, BigDecimal average_spend) {
 }
@@ -0,0 +1,26 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link TransactionDto}s of one category as parallel columns, with the category sent once rather than on
+ * every row and no field names repeated per transaction. Element {@code i} of each column belongs to
+ * transaction {@code i}, in the same order as the row form.
+ */
+public record TransactionColumnsDto(String category,
+                                    int count,
+                                    List<Long> id,
+                                    @JsonSerialize(contentUsing = TransactionDates.Serializer.class)
+                                    @JsonDeserialize(contentUsing = TransactionDates.Deserializer.class) List<LocalDate> date,
+                                    List<String> vendor,
+                                    List<String> type,
+                                    List<BigDecimal> amount,
+                                    List<String> currency) {
+
+    public static final String MEDIA_TYPE = "application/vnd.transaction.columns+json";
+}
@@ -1,15 +1,19 @@
 package com.virginmoney.transaction.dto;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
 
-import java.sql.Date;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 @Builder
+@JsonSerialize(using = TransactionDtoSerializer.class)
 public record TransactionDto(long id,
-                             @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MMM/yyyy") Date date,
+                             @JsonDeserialize(using = TransactionDates.Deserializer.class) LocalDate date,
                              String vendor,
                              String type,
-                             double amount,
+                             BigDecimal amount,
+                             String currency,
                              String category) {
 
 }
@@ -0,0 +1,53 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link TransactionDto} field by field with pre-encoded names, instead of Jackson's reflective
+ * record serializer. The output is the same: every field, nulls included, in declaration order.
+ */
+public class TransactionDtoSerializer extends StdSerializer<TransactionDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+
+    private static final SerializedString DATE = new SerializedString("date");
+
+    private static final SerializedString VENDOR = new SerializedString("vendor");
+
+    private static final SerializedString TYPE = new SerializedString("type");
+
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+
+    private static final SerializedString CATEGORY = new SerializedString("category");
+
+    public TransactionDtoSerializer() {
+        super(TransactionDto.class);
+    }
+
+    @Override
+    public void serialize(TransactionDto transaction, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(transaction, 7);
+        generator.writeFieldName(ID);
+        generator.writeNumber(transaction.id());
+        generator.writeFieldName(DATE);
+        TransactionDates.write(transaction.date(), generator);
+        generator.writeFieldName(VENDOR);
+        generator.writeString(transaction.vendor());
+        generator.writeFieldName(TYPE);
+        generator.writeString(transaction.type());
+        generator.writeFieldName(AMOUNT);
+        generator.writeNumber(transaction.amount());
+        generator.writeFieldName(CURRENCY);
+        generator.writeString(transaction.currency());
+        generator.writeFieldName(CATEGORY);
+        generator.writeString(transaction.category());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,6 @@
+package com.virginmoney.transaction.dto;
+
+import java.util.List;
+
+public record TransactionPageDto(List<TransactionDto> transactions, String nextCursor) {
+}
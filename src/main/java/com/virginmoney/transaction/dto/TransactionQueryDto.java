@@ -0,0 +1,21 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * An aggregation over the transactions matching every given filter; omitted filters match everything and
+ * {@code to} is inclusive. Groups by any of category, vendor, type, year and month, and computes any of
+ * count, sum, avg, min, max, p50, p90, p95 and p99, defaulting to count, sum and avg.
+ */
+public record TransactionQueryDto(
+        List<String> categories,
+        @JsonSerialize(using = TransactionDates.Serializer.class)
+        @JsonDeserialize(using = TransactionDates.Deserializer.class) LocalDate from,
+        @JsonSerialize(using = TransactionDates.Serializer.class)
+        @JsonDeserialize(using = TransactionDates.Deserializer.class) LocalDate to,
+        List<String> types, List<String> vendors, List<String> groupBy, List<String> metrics) {
+}
@@ -0,0 +1,11 @@
+package com.virginmoney.transaction.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One row per group, keyed by the group-by dimension and metric names; counts are integers and every
+ * other metric is a decimal amount.
+ */
+public record TransactionQueryResultDto(List<String> groupBy, List<String> metrics, List<Map<String, Object>> rows) {
+}
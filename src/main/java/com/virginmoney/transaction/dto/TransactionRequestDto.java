@@ -1,9 +1,31 @@
 package com.virginmoney.transaction.dto;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-import java.sql.Date;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 
+/**
+ * A transaction to save. The amount is taken exactly as written and must not have more decimal places than
+ * the currency, which defaults to GBP when omitted. A resent transaction with the same idempotency key is
+ * skipped. Without a key it is always saved, unless {@code transaction.idempotency.content-keys} is enabled
+ * and one with the same date, vendor, type, amount, currency and category was saved before.
+ */
+@JsonDeserialize(using = TransactionRequestDtoDeserializer.class)
 public record TransactionRequestDto(
-        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MMM/yyyy") Date date, String vendor, String type, double amount, String category) {
+        @JsonSerialize(using = TransactionDates.Serializer.class) LocalDate date, String vendor, String type,
+        BigDecimal amount, String currency, String category, String idempotencyKey) {
+
+    public TransactionRequestDto(LocalDate date, String vendor, String type, BigDecimal amount, String currency, String category) {
+        this(date, vendor, type, amount, currency, category, null);
+    }
+
+    public TransactionRequestDto(LocalDate date, String vendor, String type, BigDecimal amount, String category) {
+        this(date, vendor, type, amount, null, category, null);
+    }
+
+    public TransactionRequestDto withIdempotencyKey(String key) {
+        return new TransactionRequestDto(date, vendor, type, amount, currency, category, key);
+    }
 }
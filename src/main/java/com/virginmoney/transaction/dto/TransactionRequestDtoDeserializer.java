@@ -0,0 +1,81 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Reads a {@link TransactionRequestDto} token by token, instead of Jackson's reflective record deserializer.
+ * Unknown fields are skipped and missing ones are null. The amount keeps the scale it was written with.
+ */
+public class TransactionRequestDtoDeserializer extends StdDeserializer<TransactionRequestDto> {
+
+    public TransactionRequestDtoDeserializer() {
+        super(TransactionRequestDto.class);
+    }
+
+    @Override
+    public TransactionRequestDto deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        else if (token != JsonToken.FIELD_NAME) {
+            return (TransactionRequestDto) context.handleUnexpectedToken(TransactionRequestDto.class, parser);
+        }
+
+        LocalDate date = null;
+        String vendor = null;
+        String type = null;
+        BigDecimal amount = null;
+        String currency = null;
+        String category = null;
+        String idempotencyKey = null;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "date" -> date = TransactionDates.read(parser, context);
+                case "vendor" -> vendor = text(parser, context);
+                case "type" -> type = text(parser, context);
+                case "amount" -> amount = amount(parser, context);
+                case "currency" -> currency = text(parser, context);
+                case "category" -> category = text(parser, context);
+                case "idempotencyKey" -> idempotencyKey = text(parser, context);
+                default -> context.handleUnknownProperty(parser, this, TransactionRequestDto.class, field);
+            }
+        }
+        return new TransactionRequestDto(date, vendor, type, amount, currency, category, idempotencyKey);
+    }
+
+    private static String text(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            return (String) context.handleUnexpectedToken(String.class, parser);
+        }
+        return parser.getValueAsString();
+    }
+
+    private static BigDecimal amount(JsonParser parser, DeserializationContext context) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> {
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    yield null;
+                }
+                try {
+                    yield new BigDecimal(text);
+                } catch (NumberFormatException exception) {
+                    throw context.weirdStringException(text, BigDecimal.class, "amount must be a number");
+                }
+            }
+            default -> (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.virginmoney.transaction.exception;
+
+public class BatchQueueFullException extends QueueFullException {
+
+    public BatchQueueFullException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.virginmoney.transaction.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+
+    public DatabaseBusyException(String message){
+        super(message);
+    }
+}
@@ -5,4 +5,8 @@ public class DatabaseFetchException extends RuntimeException{
     public DatabaseFetchException(String message){
         super(message);
     }
+
+    public DatabaseFetchException(String message, Throwable cause){
+        super(message, cause);
+    }
 }
@@ -0,0 +1,8 @@
+package com.virginmoney.transaction.exception;
+
+public class DuplicateTransactionException extends RuntimeException {
+
+    public DuplicateTransactionException(String message){
+        super(message);
+    }
+}
@@ -1,30 +1,94 @@
 package com.virginmoney.transaction.exception;
 
 import com.virginmoney.transaction.model.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(TransactionNotFound.class)
     public ResponseEntity<ErrorResponse> handleTransactionNotFound(TransactionNotFound exception){
         logger.error("Transaction Not found - Exception handler invoked");
+        countError(exception);
         ErrorResponse error = new ErrorResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
 
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException exception){
+        logger.error("Invalid cursor - Exception handler invoked");
+        countError(exception);
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuery(InvalidQueryException exception){
+        logger.error("Invalid query - Exception handler invoked");
+        countError(exception);
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTransaction(InvalidTransactionException exception){
+        logger.error("Invalid transaction request - Exception handler invoked");
+        countError(exception);
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(DatabaseFetchException.class)
     public ResponseEntity<ErrorResponse> handleDatabaseFetchException(DatabaseFetchException exception){
         logger.error("Error fetching data - Exception handler invoked");
+        countError(exception);
         ErrorResponse error = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), exception.getMessage());
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ErrorResponse> handleDatabaseBusyException(DatabaseBusyException exception){
+        logger.error("Database busy - Exception handler invoked");
+        countError(exception);
+        ErrorResponse error = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(QueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleQueueFullException(QueueFullException exception){
+        logger.error("Queue full - Exception handler invoked");
+        countError(exception);
+        ErrorResponse error = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), exception.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(DuplicateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateTransactionException(DuplicateTransactionException exception){
+        logger.error("Duplicate transaction - Exception handler invoked");
+        countError(exception);
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), exception.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    private void countError(RuntimeException exception) {
+        meterRegistry.counter("transaction.errors", "exception", exception.getClass().getSimpleName()).increment();
+    }
 }
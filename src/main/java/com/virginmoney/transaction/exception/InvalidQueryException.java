@@ -0,0 +1,7 @@
+package com.virginmoney.transaction.exception;
+
+public class InvalidQueryException extends RuntimeException {
+    public InvalidQueryException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.virginmoney.transaction.exception;
+
+/**
+ * A save or import request that cannot be stored, such as a transaction missing a field or a CSV file with
+ * the wrong header, with a message naming the problem. Its message is returned with the 400; an IllegalArgumentException from anywhere else stays a 500.
+ */
+public class InvalidTransactionException extends RuntimeException {
+    public InvalidTransactionException(String message){
+        super(message);
+    }
+}
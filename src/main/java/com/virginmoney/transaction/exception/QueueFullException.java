@@ -0,0 +1,8 @@
+package com.virginmoney.transaction.exception;
+
+public abstract class QueueFullException extends RuntimeException {
+
+    protected QueueFullException(String message){
+        super(message);
+    }
+}
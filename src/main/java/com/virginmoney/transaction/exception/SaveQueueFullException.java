@@ -0,0 +1,8 @@
+package com.virginmoney.transaction.exception;
+
+public class SaveQueueFullException extends QueueFullException {
+
+    public SaveQueueFullException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.virginmoney.transaction.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one log event per request with its outcome and duration. A configurable fraction of
+ * requests is marked as sampled in the MDC, which {@link SampledDebugTurboFilter} uses to let
+ * their DEBUG events through without lowering the log level for all traffic.
+ */
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID_KEY = "requestId";
+
+    static final String SAMPLED_KEY = "sampled";
+
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private volatile double debugSampleRate;
+
+    public RequestLoggingFilter(@Value("${transaction.logging.debug-sample-rate:0.0}") double debugSampleRate) {
+        setDebugSampleRate(debugSampleRate);
+    }
+
+    public double getDebugSampleRate() {
+        return debugSampleRate;
+    }
+
+    public void setDebugSampleRate(double debugSampleRate) {
+        this.debugSampleRate = Math.min(Math.max(debugSampleRate, 0.0), 1.0);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        MDC.put(REQUEST_ID_KEY, requestId != null ? requestId : UUID.randomUUID().toString());
+        if (debugSampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < debugSampleRate) {
+            MDC.put(SAMPLED_KEY, "true");
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        }
+        finally {
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.atInfo()
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("uri", request.getRequestURI())
+                    .addKeyValue("status", response.getStatus())
+                    .addKeyValue("durationMs", durationMs)
+                    .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), response.getStatus(), durationMs);
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.virginmoney.transaction.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets DEBUG events from the application packages through, whatever the configured level, while
+ * the current request has been picked for sampling by {@link RequestLoggingFilter}.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private static final String APPLICATION_PACKAGE = "com.virginmoney.transaction";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || !logger.getName().startsWith(APPLICATION_PACKAGE)) {
+            return FilterReply.NEUTRAL;
+        }
+        return MDC.get(RequestLoggingFilter.SAMPLED_KEY) != null ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,154 @@
+package com.virginmoney.transaction.mapper;
+
+import com.virginmoney.transaction.dto.TransactionColumnsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HexFormat;
+import java.util.List;
+
+public final class TransactionMapper {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final String FIELD_SEPARATOR = "\u001F";
+
+    private TransactionMapper() {
+    }
+
+    public static TransactionEntity toEntity(TransactionRequestDto transactionRequestDto) {
+
+        Currency currency = toCurrency(transactionRequestDto.currency());
+
+        TransactionEntity transactionEntity = TransactionEntity.builder()
+                .date(transactionRequestDto.date() == null ? null : Date.valueOf(transactionRequestDto.date()))
+                .vendor(transactionRequestDto.vendor())
+                .type(TransactionType.fromName(transactionRequestDto.type()))
+                .amountMinor(Money.toMinorUnits(transactionRequestDto.amount(), currency))
+                .currency(currency)
+                .category(transactionRequestDto.category())
+                .build();
+        transactionEntity.setIdempotencyKey(clientIdempotencyKey(transactionRequestDto.idempotencyKey()));
+        return transactionEntity;
+    }
+
+    /**
+     * SHA-256 hex of the client's key, or null when it sent none, so the transaction is always saved.
+     */
+    static String clientIdempotencyKey(String clientKey) {
+        if (clientKey == null || clientKey.isBlank()) {
+            return null;
+        }
+        if (clientKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidTransactionException("idempotencyKey must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return sha256Hex("key" + FIELD_SEPARATOR + clientKey);
+    }
+
+    /**
+     * SHA-256 hex of the fields that make a transaction the same one resent, for saves that opt in to
+     * deduplicating keyless transactions by content. Prefixed so it can never match a client key.
+     */
+    public static String contentIdempotencyKey(TransactionEntity transaction) {
+        return sha256Hex(String.join(FIELD_SEPARATOR, "content",
+                String.valueOf(transaction.getDate()),
+                String.valueOf(transaction.getVendor()),
+                transaction.getType().name(),
+                Long.toString(transaction.getAmountMinor()),
+                transaction.getCurrency().getCurrencyCode(),
+                String.valueOf(transaction.getCategory())));
+    }
+
+    private static String sha256Hex(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * Rejects a request that {@link #toEntity} could not save, with a message naming the offending field.
+     */
+    public static void validate(TransactionRequestDto request) {
+        toValidatedEntity(request);
+    }
+
+    /**
+     * {@link #toEntity} after the checks of {@link #validate}, so a request missing a field fails with a
+     * message naming it rather than deep in the save.
+     */
+    public static TransactionEntity toValidatedEntity(TransactionRequestDto request) {
+        if (request.date() == null) {
+            throw new InvalidTransactionException("date is required");
+        }
+        if (request.type() == null) {
+            throw new InvalidTransactionException("type is required");
+        }
+        if (request.amount() == null) {
+            throw new InvalidTransactionException("amount is required");
+        }
+        // unknown type, amount precision and currency are checked with their own messages
+        return toEntity(request);
+    }
+
+    public static TransactionDto toDto(TransactionEntity transactionEntity){
+
+         return TransactionDto.builder()
+                .id(transactionEntity.getId())
+                .date(transactionEntity.getDate().toLocalDate())
+                .vendor(transactionEntity.getVendor())
+                .type(String.valueOf(transactionEntity.getType()))
+                .amount(Money.toDecimal(transactionEntity.getAmountMinor(), transactionEntity.getCurrency()))
+                .currency(transactionEntity.getCurrency().getCurrencyCode())
+                .category(transactionEntity.getCategory())
+                .build();
+    }
+
+    public static TransactionColumnsDto toColumns(String category, List<TransactionDto> transactions) {
+
+        int count = transactions.size();
+        List<Long> ids = new ArrayList<>(count);
+        List<LocalDate> dates = new ArrayList<>(count);
+        List<String> vendors = new ArrayList<>(count);
+        List<String> types = new ArrayList<>(count);
+        List<BigDecimal> amounts = new ArrayList<>(count);
+        List<String> currencies = new ArrayList<>(count);
+        for (TransactionDto transaction : transactions) {
+            ids.add(transaction.id());
+            dates.add(transaction.date());
+            vendors.add(transaction.vendor());
+            types.add(transaction.type());
+            amounts.add(transaction.amount());
+            currencies.add(transaction.currency());
+        }
+        return new TransactionColumnsDto(category, count, ids, dates, vendors, types, amounts, currencies);
+    }
+
+    /**
+     * Aggregates are kept per category in a single currency, so only the default currency is accepted for now.
+     */
+    private static Currency toCurrency(String currencyCode) {
+        if (currencyCode == null) {
+            return Money.DEFAULT_CURRENCY;
+        }
+        if (!Money.DEFAULT_CURRENCY.getCurrencyCode().equalsIgnoreCase(currencyCode)) {
+            throw new InvalidTransactionException("unsupported currency: " + currencyCode);
+        }
+        return Money.DEFAULT_CURRENCY;
+    }
+}
@@ -0,0 +1,25 @@
+package com.virginmoney.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryMonthKey implements Serializable {
+
+    private String category;
+
+    @Column(name = "summary_year")
+    private int year;
+
+    @Column(name = "summary_month")
+    private int month;
+
+}
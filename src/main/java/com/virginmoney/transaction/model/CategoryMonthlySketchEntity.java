@@ -0,0 +1,40 @@
+package com.virginmoney.transaction.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Serialized sketches of one category month, merged from saves shortly after they commit, next to the
+ * {@link CategoryMonthlySummaryEntity} rollup: a KLL quantiles sketch of the amounts in minor units and
+ * an HLL sketch of the vendors. Both merge, so a year is answered from at most twelve rows. The column
+ * defaults are empty sketches, which a month inserted before its first merge holds.
+ */
+@Data
+@Builder
+@Entity
+@Table(name = "category_monthly_sketch")
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryMonthlySketchEntity {
+
+    public static final String EMPTY_SKETCH = "X''";
+
+    @EmbeddedId
+    private CategoryMonthKey id;
+
+    @ColumnDefault(EMPTY_SKETCH)
+    @Column(nullable = false, length = 8192)
+    private byte[] amountSketch;
+
+    @ColumnDefault(EMPTY_SKETCH)
+    @Column(nullable = false, length = 4096)
+    private byte[] vendorSketch;
+
+}
@@ -0,0 +1,45 @@
+package com.virginmoney.transaction.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Rollup of the transaction table per category and calendar month, kept in step with
+ * every save so the statistics endpoints read O(months) rows instead of O(transactions).
+ * Amounts are minor units of {@link Money#DEFAULT_CURRENCY}. The column defaults are an empty month,
+ * which {@link com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo#accumulateAll} inserts.
+ */
+@Data
+@Builder
+@Entity
+@Table(name = "category_monthly_summary")
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryMonthlySummaryEntity {
+
+    public static final String LOWEST_DEFAULT = "9223372036854775807";
+
+    public static final String HIGHEST_DEFAULT = "-9223372036854775808";
+
+    @EmbeddedId
+    private CategoryMonthKey id;
+
+    @ColumnDefault("0")
+    private long transactionCount;
+
+    @ColumnDefault("0")
+    private long totalMinor;
+
+    @ColumnDefault(LOWEST_DEFAULT)
+    private long lowestMinor;
+
+    @ColumnDefault(HIGHEST_DEFAULT)
+    private long highestMinor;
+
+}
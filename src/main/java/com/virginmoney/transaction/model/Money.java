@@ -0,0 +1,62 @@
+package com.virginmoney.transaction.model;
+
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Conversions between the decimal amounts the API exchanges and the long minor units (pence) amounts
+ * are stored, summed and compared in.
+ */
+public final class Money {
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("GBP");
+
+    private Money() {
+    }
+
+    /**
+     * Exact conversion; rejects amounts with more decimal places than the currency has or too large for a long.
+     */
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            throw new InvalidTransactionException("amount is required");
+        }
+        BigDecimal minorUnits = amount.movePointRight(currency.getDefaultFractionDigits());
+        if (minorUnits.stripTrailingZeros().scale() > 0) {
+            throw new InvalidTransactionException("amount must have at most " + currency.getDefaultFractionDigits()
+                    + " decimal places: " + amount.toPlainString());
+        }
+        try {
+            return minorUnits.longValueExact();
+        }
+        catch (ArithmeticException exception) {
+            throw new InvalidTransactionException("amount out of range: " + amount.toPlainString());
+        }
+    }
+
+    /**
+     * Decimal amount of {@link #DEFAULT_CURRENCY}, the currency every aggregate is kept in.
+     */
+    public static BigDecimal toDecimal(long minorUnits) {
+        return toDecimal(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    public static BigDecimal toDecimal(long minorUnits, Currency currency) {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * Mean of {@code count} amounts totalling {@code total} minor units, rounded half-even to a whole minor unit.
+     */
+    public static long average(long total, long count) {
+        long quotient = total / count;
+        long remainder = Math.abs(total % count);
+        long toNext = count - remainder;
+        if (remainder > toNext || (remainder == toNext && (quotient & 1) != 0)) {
+            quotient += Long.signum(total);
+        }
+        return quotient;
+    }
+}
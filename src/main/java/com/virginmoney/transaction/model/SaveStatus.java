@@ -0,0 +1,7 @@
+package com.virginmoney.transaction.model;
+
+public enum SaveStatus {
+    QUEUED,
+    SAVED,
+    FAILED
+}
@@ -1,6 +1,5 @@
 package com.virginmoney.transaction.model;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,28 +7,55 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.sql.Date;
+import java.util.Currency;
 
 @Data
 @Builder
 @Entity
-@Table(name = "transaction")
+@Table(name = "transaction",
+        indexes = {
+                @Index(name = TransactionEntity.CATEGORY_DATE_INDEX, columnList = "category, date DESC, id DESC"),
+                @Index(name = TransactionEntity.IDEMPOTENCY_KEY_INDEX, columnList = "idempotency_key", unique = true)
+        })
 @AllArgsConstructor
 @NoArgsConstructor
 public class TransactionEntity {
 
+    /**
+     * Named after its columns: schema update skips an index whose name already exists, so a changed column
+     * list needs a new name. {@link com.virginmoney.transaction.config.SchemaMigrations} drops the
+     * {@code (category, date)} index it replaced.
+     */
+    public static final String CATEGORY_DATE_INDEX = "idx_transaction_category_date_id";
+
+    public static final String IDEMPOTENCY_KEY_INDEX = "uk_transaction_idempotency_key";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private long id;
 
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MMM/yyyy")
     private Date date;
 
     private String vendor;
 
     private TransactionType type;
 
-    private double amount;
+    /**
+     * Amount in minor units of {@link #currency}, e.g. pence.
+     */
+    private long amountMinor;
+
+    @Column(nullable = false, length = 3)
+    private Currency currency;
 
     private String category;
 
+    /**
+     * SHA-256 hex of the client's idempotency key, or of the transaction's content when content keys are
+     * enabled. Null for a transaction saved without either, which the unique index ignores.
+     */
+    @Column(length = 64)
+    private String idempotencyKey;
+
 }
@@ -1,8 +1,26 @@
 package com.virginmoney.transaction.model;
 
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+
 public enum TransactionType {
     CARD,
     INTERNET,
     DIRECT_DEBIT,
-    BANK_TRANSFER
+    BANK_TRANSFER;
+
+    private static final TransactionType[] VALUES = values();
+
+    /**
+     * {@link #valueOf} ignoring case, without upper-casing the name into a new string first.
+     */
+    public static TransactionType fromName(String name) {
+        if (name != null) {
+            for (TransactionType type : VALUES) {
+                if (type.name().equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+        }
+        throw new InvalidTransactionException("unknown type: " + name);
+    }
 }
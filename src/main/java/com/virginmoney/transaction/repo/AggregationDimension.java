@@ -0,0 +1,50 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+
+/**
+ * Group-by dimensions of the aggregation query. Only these SQL expressions are ever written into the query;
+ * request values pick one by name.
+ */
+public enum AggregationDimension {
+    CATEGORY("category"),
+    VENDOR("vendor"),
+    TYPE("type"),
+    YEAR("EXTRACT(YEAR FROM date)"),
+    MONTH("EXTRACT(YEAR FROM date) * 100 + EXTRACT(MONTH FROM date)");
+
+    private final String expression;
+
+    AggregationDimension(String expression) {
+        this.expression = expression;
+    }
+
+    String expression() {
+        return expression;
+    }
+
+    /**
+     * Reads the group value: type as its name, month as {@code 2020-10}.
+     */
+    Object read(ResultSet resultSet, int column) throws SQLException {
+        return switch (this) {
+            case CATEGORY, VENDOR -> resultSet.getString(column);
+            case TYPE -> {
+                int ordinal = resultSet.getInt(column);
+                yield resultSet.wasNull() ? null : TransactionType.values()[ordinal].name();
+            }
+            case YEAR -> {
+                int year = resultSet.getInt(column);
+                yield resultSet.wasNull() ? null : year;
+            }
+            case MONTH -> {
+                int yearMonth = resultSet.getInt(column);
+                yield resultSet.wasNull() ? null : YearMonth.of(yearMonth / 100, yearMonth % 100).toString();
+            }
+        };
+    }
+}
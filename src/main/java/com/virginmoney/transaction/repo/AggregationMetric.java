@@ -0,0 +1,34 @@
+package com.virginmoney.transaction.repo;
+
+/**
+ * Metrics of the aggregation query over {@code amount_minor}. Count and sum are selected for every group,
+ * and the average is derived from them, so only the other metrics add a column to the query.
+ */
+public enum AggregationMetric {
+    COUNT(null),
+    SUM(null),
+    AVG(null),
+    MIN("MIN(amount_minor)"),
+    MAX("MAX(amount_minor)"),
+    P50("PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY amount_minor)"),
+    P90("PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY amount_minor)"),
+    P95("PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY amount_minor)"),
+    P99("PERCENTILE_CONT(0.99) WITHIN GROUP (ORDER BY amount_minor)");
+
+    private final String expression;
+
+    AggregationMetric(String expression) {
+        this.expression = expression;
+    }
+
+    String expression() {
+        return expression;
+    }
+
+    /**
+     * Whether the value is an amount in minor units rather than a row count.
+     */
+    public boolean isAmount() {
+        return this != COUNT;
+    }
+}
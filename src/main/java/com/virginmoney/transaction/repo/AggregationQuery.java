@@ -0,0 +1,16 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionType;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A validated aggregation query. Empty filter lists and null dates do not filter; {@code to} is inclusive.
+ */
+@Builder
+public record AggregationQuery(List<AggregationDimension> groupBy, List<AggregationMetric> metrics,
+                               List<String> categories, LocalDate from, LocalDate to, List<TransactionType> types,
+                               List<String> vendors, int maxGroups) {
+}
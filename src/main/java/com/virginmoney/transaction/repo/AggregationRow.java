@@ -0,0 +1,10 @@
+package com.virginmoney.transaction.repo;
+
+import java.util.List;
+
+/**
+ * One group of an aggregation query: the group values in {@code groupBy} order and the metric values in
+ * {@code metrics} order, amounts in minor units.
+ */
+public record AggregationRow(List<Object> group, List<Long> metrics) {
+}
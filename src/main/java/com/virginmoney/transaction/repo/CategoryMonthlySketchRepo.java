@@ -0,0 +1,39 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySketchEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryMonthlySketchRepo extends JpaRepository<CategoryMonthlySketchEntity, CategoryMonthKey> {
+
+    /**
+     * Inserts the month with empty sketches, the column defaults, unless it already exists, so
+     * {@link #findForUpdateById} always has a row to lock. A concurrent first writer makes MERGE wait for it
+     * instead of both inserting.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO category_monthly_sketch (category, summary_year, summary_month) " +
+            "KEY (category, summary_year, summary_month) VALUES (:category, :year, :month)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("category") String category, @Param("year") int year, @Param("month") int month);
+
+    /**
+     * Locks the row, so concurrent writers of the same category month merge one after the other
+     * instead of overwriting each other's sketches. Only locks a row that exists; call
+     * {@link #insertIfAbsent} first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CategoryMonthlySketchEntity> findForUpdateById(CategoryMonthKey id);
+
+    List<CategoryMonthlySketchEntity> findByIdCategoryAndIdYear(String category, int year);
+}
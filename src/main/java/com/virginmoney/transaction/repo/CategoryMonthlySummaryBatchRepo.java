@@ -0,0 +1,17 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.CategoryMonthlySummaryEntity;
+
+import java.util.Collection;
+
+public interface CategoryMonthlySummaryBatchRepo {
+
+    /**
+     * Adds each delta's count and total to its stored month and folds in its lowest and highest, as one JDBC
+     * batch of additive UPDATEs. Months the batch did not find are inserted with the column defaults by a
+     * key-only MERGE, which waits for a concurrent first writer's commit instead of failing on the primary
+     * key, and then updated. Months are written in key order so concurrent saves lock them in the same
+     * order. Must run inside a transaction.
+     */
+    void accumulateAll(Collection<CategoryMonthlySummaryEntity> deltas);
+}
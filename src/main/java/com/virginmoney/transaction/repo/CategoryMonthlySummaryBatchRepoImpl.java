@@ -0,0 +1,60 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySummaryEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CategoryMonthlySummaryBatchRepoImpl implements CategoryMonthlySummaryBatchRepo {
+
+    private static final String INSERT_IF_ABSENT = "MERGE INTO category_monthly_summary " +
+            "(category, summary_year, summary_month) KEY (category, summary_year, summary_month) VALUES (?, ?, ?)";
+
+    private static final String ACCUMULATE = "UPDATE category_monthly_summary " +
+            "SET transaction_count = transaction_count + ?, " +
+            "total_minor = total_minor + ?, " +
+            "lowest_minor = LEAST(lowest_minor, ?), " +
+            "highest_minor = GREATEST(highest_minor, ?) " +
+            "WHERE category = ? AND summary_year = ? AND summary_month = ?";
+
+    private static final Comparator<CategoryMonthlySummaryEntity> KEY_ORDER = Comparator
+            .comparing((CategoryMonthlySummaryEntity delta) -> delta.getId().getCategory())
+            .thenComparingInt(delta -> delta.getId().getYear())
+            .thenComparingInt(delta -> delta.getId().getMonth());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void accumulateAll(Collection<CategoryMonthlySummaryEntity> deltas) {
+        List<CategoryMonthlySummaryEntity> ordered = deltas.stream().sorted(KEY_ORDER).toList();
+
+        int[] updated = jdbcTemplate.batchUpdate(ACCUMULATE, ordered.stream().map(this::accumulateArgs).toList());
+
+        List<CategoryMonthlySummaryEntity> absent = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                absent.add(ordered.get(i));
+            }
+        }
+        if (!absent.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, absent.stream().map(delta -> key(delta.getId())).toList());
+            jdbcTemplate.batchUpdate(ACCUMULATE, absent.stream().map(this::accumulateArgs).toList());
+        }
+    }
+
+    private Object[] accumulateArgs(CategoryMonthlySummaryEntity delta) {
+        CategoryMonthKey id = delta.getId();
+        return new Object[]{delta.getTransactionCount(), delta.getTotalMinor(), delta.getLowestMinor(),
+                delta.getHighestMinor(), id.getCategory(), id.getYear(), id.getMonth()};
+    }
+
+    private static Object[] key(CategoryMonthKey id) {
+        return new Object[]{id.getCategory(), id.getYear(), id.getMonth()};
+    }
+}
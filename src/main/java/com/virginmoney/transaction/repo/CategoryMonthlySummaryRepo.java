@@ -0,0 +1,43 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySummaryEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryMonthlySummaryRepo extends JpaRepository<CategoryMonthlySummaryEntity, CategoryMonthKey>,
+        CategoryMonthlySummaryBatchRepo {
+
+    boolean existsByIdCategory(String category);
+
+    @Query("SELECT SUM(s.totalMinor) FROM CategoryMonthlySummaryEntity s WHERE s.id.category = :category")
+    Optional<Long> sumMinorByCategory(@Param("category") String category);
+
+    @Query("SELECT s.id.year AS year, s.id.month AS month, s.transactionCount AS count, s.totalMinor AS total " +
+            "FROM CategoryMonthlySummaryEntity s WHERE s.id.category = :category")
+    List<MonthlyAverageView> findMonthlyAveragesByCategory(@Param("category") String category);
+
+    @Query("SELECT COALESCE(SUM(s.transactionCount), 0) AS count, MIN(s.lowestMinor) AS lowest, " +
+            "MAX(s.highestMinor) AS highest, SUM(s.totalMinor) AS total " +
+            "FROM CategoryMonthlySummaryEntity s WHERE s.id.category = :category AND s.id.year = :year")
+    SpendStatisticsView findStatisticsByCategoryAndYear(@Param("category") String category, @Param("year") int year);
+
+    // Scans the whole transaction table, so it opts out of the global query timeout
+    @Modifying
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "0"))
+    @Query(value = "INSERT INTO category_monthly_summary " +
+            "(category, summary_year, summary_month, transaction_count, total_minor, lowest_minor, highest_minor) " +
+            "SELECT category, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), COUNT(*), SUM(amount_minor), MIN(amount_minor), MAX(amount_minor) " +
+            "FROM transaction WHERE category IS NOT NULL GROUP BY category, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date)",
+            nativeQuery = true)
+    int rebuildFromTransactions();
+}
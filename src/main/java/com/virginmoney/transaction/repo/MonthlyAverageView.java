@@ -0,0 +1,15 @@
+package com.virginmoney.transaction.repo;
+
+/**
+ * Transaction count and total in minor units for one month, from which the average is rounded once.
+ */
+public interface MonthlyAverageView {
+
+    int getYear();
+
+    int getMonth();
+
+    long getCount();
+
+    long getTotal();
+}
@@ -0,0 +1,126 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.TransactionType;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Optional;
+
+/**
+ * R2DBC counterpart of the {@link TransactionRepo} and {@link CategoryMonthlySummaryRepo} reads used by the
+ * reactive stack. Same tables, indexes and ordering as the JPA queries; the aggregates are summed by the
+ * database from {@code category_monthly_summary}. H2 widens {@code SUM} of a {@code BIGINT} to {@code NUMERIC},
+ * so sums are cast back to read as {@link Long}.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransactionRepo {
+
+    private static final String SELECT_LATEST_BY_CATEGORY =
+            "SELECT id, date, vendor, type, amount_minor, currency, category, idempotency_key FROM transaction " +
+            "WHERE category = :category ORDER BY category, date DESC, id DESC";
+
+    private final DatabaseClient databaseClient;
+
+    private final int fetchSize;
+
+    public ReactiveTransactionRepo(DatabaseClient databaseClient,
+                                   @Value("${transaction.stream.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<TransactionEntity> findLatestByCategory(String category, int limit) {
+        return databaseClient.sql(SELECT_LATEST_BY_CATEGORY + " LIMIT :limit")
+                .bind("category", category)
+                .bind("limit", limit)
+                .map(ReactiveTransactionRepo::toEntity)
+                .all();
+    }
+
+    /**
+     * Every transaction of the category, newest first, fetched {@code transaction.stream.fetch-size} rows at a
+     * time as the subscriber requests them.
+     */
+    public Flux<TransactionEntity> streamLatestByCategory(String category) {
+        return databaseClient.sql(SELECT_LATEST_BY_CATEGORY)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("category", category)
+                .map(ReactiveTransactionRepo::toEntity)
+                .all();
+    }
+
+    public Mono<Boolean> existsByCategory(String category) {
+        return databaseClient.sql("SELECT 1 FROM category_monthly_summary WHERE category = :category LIMIT 1")
+                .bind("category", category)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Empty when the category has no transactions.
+     */
+    public Mono<Long> sumMinorByCategory(String category) {
+        return databaseClient.sql("SELECT CAST(SUM(total_minor) AS BIGINT) AS total " +
+                        "FROM category_monthly_summary WHERE category = :category")
+                .bind("category", category)
+                .map(row -> Optional.ofNullable(row.get("total", Long.class)))
+                .first()
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public Flux<MonthlyAverageView> findMonthlyAveragesByCategory(String category) {
+        return databaseClient.sql("SELECT summary_year, summary_month, transaction_count, total_minor " +
+                        "FROM category_monthly_summary WHERE category = :category")
+                .bind("category", category)
+                .map(row -> (MonthlyAverageView) new MonthlyAverage(
+                        row.get("summary_year", Integer.class),
+                        row.get("summary_month", Integer.class),
+                        row.get("transaction_count", Long.class),
+                        row.get("total_minor", Long.class)))
+                .all();
+    }
+
+    public Mono<SpendStatisticsView> findStatisticsByCategoryAndYear(String category, int year) {
+        return databaseClient.sql("SELECT CAST(COALESCE(SUM(transaction_count), 0) AS BIGINT) AS count, MIN(lowest_minor) AS lowest, " +
+                        "MAX(highest_minor) AS highest, CAST(SUM(total_minor) AS BIGINT) AS total " +
+                        "FROM category_monthly_summary WHERE category = :category AND summary_year = :year")
+                .bind("category", category)
+                .bind("year", year)
+                .map(row -> (SpendStatisticsView) new SpendStatistics(
+                        row.get("count", Long.class),
+                        row.get("lowest", Long.class),
+                        row.get("highest", Long.class),
+                        row.get("total", Long.class)))
+                .one();
+    }
+
+    private static TransactionEntity toEntity(Readable row) {
+        return new TransactionEntity(
+                row.get("id", Long.class),
+                Date.valueOf(row.get("date", LocalDate.class)),
+                row.get("vendor", String.class),
+                TransactionType.values()[row.get("type", Byte.class)],
+                row.get("amount_minor", Long.class),
+                Currency.getInstance(row.get("currency", String.class)),
+                row.get("category", String.class),
+                row.get("idempotency_key", String.class));
+    }
+
+    private record MonthlyAverage(int getYear, int getMonth, long getCount, long getTotal) implements MonthlyAverageView {
+    }
+
+    private record SpendStatistics(long getCount, Long getLowest, Long getHighest, Long getTotal)
+            implements SpendStatisticsView {
+    }
+}
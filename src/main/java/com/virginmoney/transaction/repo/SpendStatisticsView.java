@@ -0,0 +1,15 @@
+package com.virginmoney.transaction.repo;
+
+/**
+ * Count and lowest/highest/total amounts in minor units; the extremes and total are null when there are no rows.
+ */
+public interface SpendStatisticsView {
+
+    long getCount();
+
+    Long getLowest();
+
+    Long getHighest();
+
+    Long getTotal();
+}
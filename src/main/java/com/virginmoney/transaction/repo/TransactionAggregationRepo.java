@@ -0,0 +1,107 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Answers an {@link AggregationQuery} with one grouped SQL statement over the transaction table, so every
+ * group and metric comes from a single scan of the filtered rows. Percentiles use {@code PERCENTILE_CONT}
+ * and are rounded half-even to a whole minor unit.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionAggregationRepo {
+
+    private static final int BASE_COLUMNS = 2;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Groups in ascending group value order; at most {@code maxGroups + 1} are read, so a caller can tell
+     * the limit was exceeded.
+     */
+    public List<AggregationRow> aggregate(AggregationQuery query) {
+        List<AggregationDimension> groupBy = query.groupBy();
+        List<AggregationMetric> metrics = query.metrics();
+
+        StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+        groupBy.forEach(dimension -> select.add(dimension.expression()));
+        select.add("COUNT(*)").add("SUM(amount_minor)");
+        metrics.stream()
+                .filter(metric -> metric.expression() != null)
+                .forEach(metric -> select.add(metric.expression()));
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", query.maxGroups() + 1);
+        StringBuilder sql = new StringBuilder(select.toString()).append(" FROM transaction WHERE 1 = 1");
+        if (!query.categories().isEmpty()) {
+            sql.append(" AND category IN (:categories)");
+            parameters.addValue("categories", query.categories());
+        }
+        if (!query.vendors().isEmpty()) {
+            sql.append(" AND vendor IN (:vendors)");
+            parameters.addValue("vendors", query.vendors());
+        }
+        if (!query.types().isEmpty()) {
+            sql.append(" AND type IN (:types)");
+            parameters.addValue("types", query.types().stream().map(TransactionType::ordinal).toList());
+        }
+        if (query.from() != null) {
+            sql.append(" AND date >= :from");
+            parameters.addValue("from", Date.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND date <= :to");
+            parameters.addValue("to", Date.valueOf(query.to()));
+        }
+
+        // without a GROUP BY an empty filter still yields one row, which HAVING drops
+        StringJoiner groups = new StringJoiner(", ", " GROUP BY ", "").setEmptyValue("");
+        StringJoiner order = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        for (int position = 1; position <= groupBy.size(); position++) {
+            groups.add(groupBy.get(position - 1).expression());
+            order.add(String.valueOf(position));
+        }
+        sql.append(groups).append(" HAVING COUNT(*) > 0").append(order).append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), parameters, (resultSet, rowNum) -> toRow(resultSet, groupBy, metrics));
+    }
+
+    private static AggregationRow toRow(ResultSet resultSet, List<AggregationDimension> groupBy,
+                                        List<AggregationMetric> metrics) throws SQLException {
+        List<Object> group = new ArrayList<>(groupBy.size());
+        for (int column = 0; column < groupBy.size(); column++) {
+            group.add(groupBy.get(column).read(resultSet, column + 1));
+        }
+
+        int countColumn = groupBy.size() + 1;
+        long count = resultSet.getLong(countColumn);
+        long total = resultSet.getLong(countColumn + 1);
+        int column = countColumn + BASE_COLUMNS;
+
+        List<Long> values = new ArrayList<>(metrics.size());
+        for (AggregationMetric metric : metrics) {
+            values.add(switch (metric) {
+                case COUNT -> count;
+                case SUM -> total;
+                case AVG -> Money.average(total, count);
+                case MIN, MAX -> resultSet.getLong(column++);
+                case P50, P90, P95, P99 -> resultSet.getBigDecimal(column++)
+                        .setScale(0, RoundingMode.HALF_EVEN)
+                        .longValueExact();
+            });
+        }
+        return new AggregationRow(group, values);
+    }
+}
@@ -0,0 +1,15 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+
+import java.util.List;
+
+public interface TransactionBatchRepo {
+
+    /**
+     * Persists the transactions in JDBC batches, flushing and clearing the persistence context
+     * every {@code transaction.save.batch-size} rows so memory stays bounded on large imports.
+     * Returned entities are detached.
+     */
+    List<TransactionEntity> saveAllInBatches(List<TransactionEntity> transactions);
+}
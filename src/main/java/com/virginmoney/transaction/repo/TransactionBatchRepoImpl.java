@@ -0,0 +1,35 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class TransactionBatchRepoImpl implements TransactionBatchRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transaction.save.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public List<TransactionEntity> saveAllInBatches(List<TransactionEntity> transactions) {
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return transactions;
+    }
+}
@@ -1,13 +1,38 @@
 package com.virginmoney.transaction.repo;
 
 import com.virginmoney.transaction.model.TransactionEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepo extends JpaRepository<TransactionEntity, Long> {
-    Optional<List<TransactionEntity>>  findByCategory(String category);
+public interface TransactionRepo extends JpaRepository<TransactionEntity, Long>, TransactionBatchRepo, TransactionStreamRepo {
+    @Query("SELECT t FROM TransactionEntity t WHERE t.category = :category ORDER BY t.category, t.date, t.id")
+    Optional<List<TransactionEntity>>  findByCategory(@Param("category") String category);
+
+    @Query("SELECT t FROM TransactionEntity t WHERE t.category = :category ORDER BY t.category, t.date DESC, t.id DESC")
+    List<TransactionEntity> findLatestByCategory(@Param("category") String category, Limit limit);
+
+    @Query("SELECT t FROM TransactionEntity t WHERE t.category = :category " +
+            "AND (t.date < :date OR (t.date = :date AND t.id < :id)) ORDER BY t.category, t.date DESC, t.id DESC")
+    List<TransactionEntity> findLatestByCategoryBefore(@Param("category") String category,
+                                                      @Param("date") Date date,
+                                                      @Param("id") long id,
+                                                      Limit limit);
+
+    @Query("SELECT t.idempotencyKey FROM TransactionEntity t WHERE t.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    @Query("SELECT COUNT(t) AS count, MIN(t.amountMinor) AS lowest, MAX(t.amountMinor) AS highest, SUM(t.amountMinor) AS total " +
+            "FROM TransactionEntity t WHERE t.category = :category AND t.date >= :from AND t.date < :to")
+    SpendStatisticsView findStatisticsByCategoryAndDateRange(@Param("category") String category,
+                                                            @Param("from") Date from,
+                                                            @Param("to") Date to);
 }
@@ -0,0 +1,27 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+
+import java.util.function.Consumer;
+
+public interface TransactionStreamRepo {
+
+    /**
+     * Reads a category newest first through a JDBC cursor and hands each row to the action,
+     * detaching it afterwards so the persistence context does not grow with the category.
+     * Must run inside a transaction.
+     */
+    void forEachLatestByCategory(String category, Consumer<TransactionEntity> action);
+
+    /**
+     * Reads every row that has a category in index order - by category, newest first within each -
+     * with the same cursor and detaching as {@link #forEachLatestByCategory}. Must run inside a transaction.
+     */
+    void forEachLatest(Consumer<TransactionEntity> action);
+
+    /**
+     * Reads every non-null idempotency key through the same cursor, without loading the rows.
+     * Must run inside a transaction.
+     */
+    void forEachIdempotencyKey(Consumer<String> action);
+}
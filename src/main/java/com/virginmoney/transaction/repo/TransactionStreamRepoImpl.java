@@ -0,0 +1,60 @@
+package com.virginmoney.transaction.repo;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class TransactionStreamRepoImpl implements TransactionStreamRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transaction.stream.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public void forEachLatestByCategory(String category, Consumer<TransactionEntity> action) {
+        forEach(entityManager.createQuery(
+                        "SELECT t FROM TransactionEntity t WHERE t.category = :category ORDER BY t.category, t.date DESC, t.id DESC",
+                        TransactionEntity.class)
+                .setParameter("category", category), action);
+    }
+
+    @Override
+    public void forEachLatest(Consumer<TransactionEntity> action) {
+        forEach(entityManager.createQuery(
+                "SELECT t FROM TransactionEntity t WHERE t.category IS NOT NULL ORDER BY t.category, t.date DESC, t.id DESC",
+                TransactionEntity.class), action);
+    }
+
+    @Override
+    public void forEachIdempotencyKey(Consumer<String> action) {
+        try (Stream<String> keys = entityManager.createQuery(
+                        "SELECT t.idempotencyKey FROM TransactionEntity t WHERE t.idempotencyKey IS NOT NULL", String.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_TIMEOUT, 0)
+                .getResultStream()) {
+            keys.forEach(action);
+        }
+    }
+
+    private void forEach(TypedQuery<TransactionEntity> query, Consumer<TransactionEntity> action) {
+        try (Stream<TransactionEntity> transactions = query
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_TIMEOUT, 0)
+                .getResultStream()) {
+
+            transactions.forEach(transaction -> {
+                action.accept(transaction);
+                entityManager.detach(transaction);
+            });
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.virginmoney.transaction.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory bookkeeping about a save (versions, idempotency keys, the columnar store, sketches)
+ * until the surrounding transaction commits, so a rolled back save leaves no trace. Outside a transaction
+ * there is nothing to wait for and the action runs straight away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+}
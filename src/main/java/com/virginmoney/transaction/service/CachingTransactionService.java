@@ -0,0 +1,183 @@
+package com.virginmoney.transaction.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.virginmoney.transaction.dto.CacheStatisticsDto;
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SpendDistributionDto;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionPageDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of {@link TransactionServiceImpl}. Entries are bounded by size and
+ * expire after a TTL; a committed save evicts only the categories it wrote, before their
+ * {@link CategoryVersions} version moves on, so a new ETag is never paired with cached data.
+ * Loads run on the calling thread outside the cache's map locks, so a slow query for one key never
+ * blocks other keys or evictions, and virtual threads waiting on a load park instead of pinning.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "transaction.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingTransactionService implements TransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingTransactionService.class);
+
+    private final TransactionServiceImpl delegate;
+
+    private final AsyncCache<CategoryLimit, List<TransactionDto>> latestCache;
+
+    private final AsyncCache<String, BigDecimal> totalSpendCache;
+
+    private final AsyncCache<String, Map<String, BigDecimal>> monthlyAverageCache;
+
+    private final AsyncCache<CategoryYear, StatisticsDto> yearlyStatisticsCache;
+
+    private final AsyncCache<CategoryYear, SpendDistributionDto> yearlyDistributionCache;
+
+    public CachingTransactionService(TransactionServiceImpl delegate,
+                                     CategoryVersions categoryVersions,
+                                     @Value("${transaction.cache.maximum-size:1000}") long maximumSize,
+                                     @Value("${transaction.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.latestCache = newCache(maximumSize, expireAfterWrite);
+        this.totalSpendCache = newCache(maximumSize, expireAfterWrite);
+        this.monthlyAverageCache = newCache(maximumSize, expireAfterWrite);
+        this.yearlyStatisticsCache = newCache(maximumSize, expireAfterWrite);
+        this.yearlyDistributionCache = newCache(maximumSize, expireAfterWrite);
+        categoryVersions.onChange(this::evict);
+    }
+
+    @Override
+    public List<TransactionDto> getLatestByCategory(String category, int limit) {
+        return cached(latestCache, new CategoryLimit(category, limit),
+                () -> delegate.getLatestByCategory(category, limit));
+    }
+
+    @Override
+    public TransactionPageDto getPageByCategory(String category, int limit, String cursor) {
+        return delegate.getPageByCategory(category, limit, cursor);
+    }
+
+    @Override
+    public BigDecimal getTotalSpendByCategory(String category) {
+        return cached(totalSpendCache, category, () -> delegate.getTotalSpendByCategory(category));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getMonthlyAverageByCategory(String category) {
+        return cached(monthlyAverageCache, category, () -> delegate.getMonthlyAverageByCategory(category));
+    }
+
+    @Override
+    public StatisticsDto getYearlyStatisticsByCategory(String category, int year) {
+        return cached(yearlyStatisticsCache, new CategoryYear(category, year),
+                () -> delegate.getYearlyStatisticsByCategory(category, year));
+    }
+
+    @Override
+    public SpendDistributionDto getYearlyDistributionByCategory(String category, int year) {
+        return cached(yearlyDistributionCache, new CategoryYear(category, year),
+                () -> delegate.getYearlyDistributionByCategory(category, year));
+    }
+
+    @Override
+    public SaveResultDto saveTransactions(List<TransactionRequestDto> transactionRequests) {
+        return delegate.saveTransactions(transactionRequests);
+    }
+
+    public Map<String, CacheStatisticsDto> getStatistics() {
+        Map<String, CacheStatisticsDto> statistics = new LinkedHashMap<>();
+        statistics.put("latest", toDto(latestCache));
+        statistics.put("totalSpend", toDto(totalSpendCache));
+        statistics.put("monthlyAverage", toDto(monthlyAverageCache));
+        statistics.put("yearlyStatistics", toDto(yearlyStatisticsCache));
+        statistics.put("yearlyDistribution", toDto(yearlyDistributionCache));
+        return statistics;
+    }
+
+    private void evict(Set<String> categories) {
+        latestCache.asMap().keySet().removeIf(key -> categories.contains(key.category()));
+        totalSpendCache.synchronous().invalidateAll(categories);
+        monthlyAverageCache.synchronous().invalidateAll(categories);
+        yearlyStatisticsCache.asMap().keySet().removeIf(key -> categories.contains(key.category()));
+        yearlyDistributionCache.asMap().keySet().removeIf(key -> categories.contains(key.category()));
+
+        logger.debug("Cache evicted for categories {}", categories);
+    }
+
+    private static <K, V> V cached(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> body = cache.get(key, (ignored, executor) -> loading);
+        if (body == loading) {
+            try {
+                loading.complete(loader.get());
+            }
+            catch (RuntimeException | Error exception) {
+                // a failed future is dropped by the cache, so the next call loads again
+                loading.completeExceptionally(exception);
+            }
+        }
+        return join(body);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    private static <K, V> AsyncCache<K, V> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    private static CacheStatisticsDto toDto(AsyncCache<?, ?> asyncCache) {
+        Cache<?, ?> cache = asyncCache.synchronous();
+        CacheStats stats = cache.stats();
+        return CacheStatisticsDto.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    private record CategoryYear(String category, int year) {
+    }
+
+    private record CategoryLimit(String category, int limit) {
+    }
+}
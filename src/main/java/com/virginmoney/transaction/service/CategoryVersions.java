@@ -0,0 +1,85 @@
+package com.virginmoney.transaction.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Version of each category's transactions, moved on by every committed save that touches the category. The
+ * category reads derive their ETag and Last-Modified from it, so a client polling with {@code If-None-Match}
+ * is answered without querying the database.
+ *
+ * Versions are held in memory and start over on restart. The ETag carries the startup time, so one issued
+ * before a restart never matches afterwards. Saves made through another instance are not seen, as with the
+ * read-through cache.
+ *
+ * The ETag is weak: the same version is served as JSON, CBOR or Smile and gzipped or not, and those are
+ * equivalent rather than byte-identical representations.
+ *
+ * Last-Modified has whole-second precision. A save's Last-Modified is the start of the following second and
+ * {@link #current} withholds it until then, so a response carrying it was sent after every save it covers. Any
+ * later save moves Last-Modified on, and an {@code If-Modified-Since} client never gets a 304 for it.
+ */
+@Component
+public class CategoryVersions {
+
+    private final String instance = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Version initial = new Version(etag(0), Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The category's version, with a null lastModified while its second is still running.
+     */
+    public Version current(String category) {
+        Version version = versions.getOrDefault(category, initial);
+        return version.lastModified().isAfter(Instant.now()) ? new Version(version.etag(), null) : version;
+    }
+
+    /**
+     * Called with the changed categories before their version moves on, so anything caching their data is
+     * cleared before a client can see the new version.
+     */
+    public void onChange(Consumer<Set<String>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Moves the categories on once the save commits, see {@link AfterCommit}.
+     */
+    public void recordSaved(Set<String> categories) {
+        if (categories.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> changed(categories));
+    }
+
+    private void changed(Set<String> categories) {
+        listeners.forEach(listener -> listener.accept(categories));
+
+        Instant modified = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        for (String category : categories) {
+            versions.put(category, new Version(etag(sequence.incrementAndGet()), modified));
+        }
+    }
+
+    private String etag(long sequence) {
+        return "W/\"" + instance + "-" + sequence + "\"";
+    }
+
+    public record Version(String etag, Instant lastModified) {
+    }
+}
@@ -0,0 +1,285 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.MonthlyAverageView;
+import com.virginmoney.transaction.repo.SpendStatisticsView;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Optional in-memory copy of the transaction table for the analytics reads. Each category is held as
+ * primitive columns sorted by date - epoch day {@code int[]}, amount in minor units {@code long[]} and type
+ * ordinal {@code byte[]}, 17 bytes a row - so yearly statistics and monthly averages binary-search the date
+ * range and scan arrays, with no entity, boxing or date conversion per row.
+ *
+ * The columns are loaded from {@link TransactionRepo} before the web server takes requests and appended to
+ * after each committed save, so the store assumes this instance is the only writer.
+ * Enable with {@code transaction.columnar.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.columnar.enabled", havingValue = "true")
+public class ColumnarTransactionStore implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarTransactionStore.class);
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final TransactionRepo transactionRepo;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ConcurrentMap<String, Columns> categories = new ConcurrentHashMap<>();
+
+    public ColumnarTransactionStore(TransactionRepo transactionRepo, PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.transactionRepo = transactionRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("transaction.columnar.rows", this, ColumnarTransactionStore::rows)
+                .register(meterRegistry);
+        Gauge.builder("transaction.columnar.memory", this, ColumnarTransactionStore::footprintBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    /**
+     * Replaces the columns with the current contents of the transaction table.
+     */
+    public void load() {
+        long start = System.nanoTime();
+
+        Map<String, ColumnsBuilder> loaded = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> transactionRepo.forEachLatest(transaction -> {
+            if (transaction.getDate() != null) {
+                loaded.computeIfAbsent(transaction.getCategory(), ignored -> new ColumnsBuilder()).add(transaction);
+            }
+        }));
+
+        categories.keySet().retainAll(loaded.keySet());
+        loaded.forEach((category, builder) -> categories.put(category, builder.build()));
+
+        long rows = rows();
+        long bytes = footprintBytes();
+        logger.info("Columnar store loaded {} rows in {} categories in {} ms - {} KB, {} MB per million rows",
+                rows, categories.size(), (System.nanoTime() - start) / 1_000_000, bytes / 1024,
+                rows == 0 ? 0 : String.format("%.1f", bytes * 1_000_000.0 / rows / (1024 * 1024)));
+    }
+
+    /**
+     * Adds saved transactions once the save commits, see {@link AfterCommit}.
+     */
+    public void append(List<TransactionEntity> transactions) {
+        AfterCommit.run(() -> appendCommitted(transactions));
+    }
+
+    public boolean containsCategory(String category) {
+        return categories.containsKey(category);
+    }
+
+    public SpendStatisticsView findStatisticsByCategoryAndYear(String category, int year) {
+        Columns columns = categories.getOrDefault(category, Columns.EMPTY);
+        int from = columns.lowerBound(epochDay(LocalDate.of(year, 1, 1)), 0);
+        int to = columns.lowerBound(epochDay(LocalDate.of(year + 1, 1, 1)), from);
+
+        if (from == to) {
+            return new SpendStatistics(0, null, null, null);
+        }
+
+        long[] amounts = columns.amounts();
+        long lowest = Long.MAX_VALUE;
+        long highest = Long.MIN_VALUE;
+        long total = 0;
+        for (int row = from; row < to; row++) {
+            long amount = amounts[row];
+            lowest = Math.min(lowest, amount);
+            highest = Math.max(highest, amount);
+            total = Math.addExact(total, amount);
+        }
+        return new SpendStatistics(to - from, lowest, highest, total);
+    }
+
+    public List<MonthlyAverageView> findMonthlyAveragesByCategory(String category) {
+        Columns columns = categories.getOrDefault(category, Columns.EMPTY);
+        int[] days = columns.days();
+        long[] amounts = columns.amounts();
+
+        List<MonthlyAverageView> averages = new ArrayList<>();
+        int from = 0;
+        while (from < columns.size()) {
+            // one date conversion per month; the rows inside it are found by binary search
+            LocalDate month = LocalDate.ofEpochDay(days[from]).withDayOfMonth(1);
+            int to = columns.lowerBound(epochDay(month.plusMonths(1)), from);
+
+            long total = 0;
+            for (int row = from; row < to; row++) {
+                total = Math.addExact(total, amounts[row]);
+            }
+            averages.add(new MonthlyAverage(month.getYear(), month.getMonthValue(), to - from, total));
+            from = to;
+        }
+        return averages;
+    }
+
+    public long rows() {
+        return categories.values().stream().mapToLong(Columns::size).sum();
+    }
+
+    /**
+     * Heap held by the column arrays, including spare capacity left for appends.
+     */
+    public long footprintBytes() {
+        return categories.values().stream().mapToLong(Columns::footprintBytes).sum();
+    }
+
+    private void appendCommitted(List<TransactionEntity> transactions) {
+        Map<String, ColumnsBuilder> batches = new HashMap<>();
+        transactions.stream()
+                .filter(transaction -> transaction.getCategory() != null && transaction.getDate() != null)
+                .sorted(Comparator.comparing(TransactionEntity::getDate).reversed())
+                .forEach(transaction -> batches.computeIfAbsent(transaction.getCategory(), ignored -> new ColumnsBuilder())
+                        .add(transaction));
+
+        batches.forEach((category, batch) -> categories.merge(category, batch.build(), Columns::merge));
+
+        logger.debug("Columnar store appended {} rows in {} categories", transactions.size(), batches.size());
+    }
+
+    private static int epochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * Immutable view of one category: the first {@code size} entries of each array, sorted by day. Arrays may
+     * have spare capacity past {@code size}, which only the next snapshot of the same category writes to.
+     */
+    private record Columns(int[] days, long[] amounts, byte[] types, int size) {
+
+        static final Columns EMPTY = new Columns(new int[0], new long[0], new byte[0], 0);
+
+        /**
+         * First row at or after {@code from} whose day is not before {@code day}.
+         */
+        int lowerBound(int day, int from) {
+            int low = from;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (days[middle] < day) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Merges sorted rows into a new snapshot. Rows falling on or after the last day are written into the
+         * spare capacity when they fit; otherwise both sides are merged into new arrays with 1/8 headroom.
+         */
+        Columns merge(Columns added) {
+            int merged = size + added.size;
+            if ((size == 0 || added.days[0] >= days[size - 1]) && merged <= days.length) {
+                System.arraycopy(added.days, 0, days, size, added.size);
+                System.arraycopy(added.amounts, 0, amounts, size, added.size);
+                System.arraycopy(added.types, 0, types, size, added.size);
+                return new Columns(days, amounts, types, merged);
+            }
+
+            int capacity = merged + (merged >> 3);
+            Columns result = new Columns(new int[capacity], new long[capacity], new byte[capacity], merged);
+            int existing = 0;
+            int incoming = 0;
+            for (int row = 0; row < merged; row++) {
+                if (incoming == added.size || (existing < size && days[existing] <= added.days[incoming])) {
+                    result.set(row, this, existing++);
+                }
+                else {
+                    result.set(row, added, incoming++);
+                }
+            }
+            return result;
+        }
+
+        long footprintBytes() {
+            return 3L * ARRAY_HEADER_BYTES + days.length * (long) Integer.BYTES
+                    + amounts.length * (long) Long.BYTES + types.length;
+        }
+
+        private void set(int row, Columns source, int sourceRow) {
+            days[row] = source.days[sourceRow];
+            amounts[row] = source.amounts[sourceRow];
+            types[row] = source.types[sourceRow];
+        }
+    }
+
+    /**
+     * Collects rows newest first, as the (category, date desc, id desc) index returns them, and builds
+     * exactly sized columns oldest first.
+     */
+    private static final class ColumnsBuilder {
+
+        private int[] days = new int[16];
+
+        private long[] amounts = new long[16];
+
+        private byte[] types = new byte[16];
+
+        private int size;
+
+        void add(TransactionEntity transaction) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+            }
+            days[size] = epochDay(transaction.getDate().toLocalDate());
+            amounts[size] = transaction.getAmountMinor();
+            types[size] = transaction.getType() == null ? -1 : (byte) transaction.getType().ordinal();
+            size++;
+        }
+
+        Columns build() {
+            Columns columns = new Columns(new int[size], new long[size], new byte[size], size);
+            for (int row = 0; row < size; row++) {
+                int newestFirst = size - 1 - row;
+                columns.days[row] = days[newestFirst];
+                columns.amounts[row] = amounts[newestFirst];
+                columns.types[row] = types[newestFirst];
+            }
+            return columns;
+        }
+    }
+
+    private record MonthlyAverage(int getYear, int getMonth, long getCount, long getTotal) implements MonthlyAverageView {
+    }
+
+    private record SpendStatistics(long getCount, Long getLowest, Long getHighest, Long getTotal)
+            implements SpendStatisticsView {
+    }
+}
@@ -0,0 +1,165 @@
+package com.virginmoney.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.datasketches.filters.bloomfilter.BloomFilter;
+import org.apache.datasketches.filters.bloomfilter.BloomFilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "was this idempotency key saved already" mostly without the database:
+ * <ul>
+ *     <li>a bounded cache of recently saved keys catches resent batches outright</li>
+ *     <li>a Bloom filter over every saved key clears new keys; at the configured {@code expected-keys} and
+ *     {@code false-positive-rate} only that fraction of new keys, 1% by default, is looked up</li>
+ * </ul>
+ * Keys the filter may have seen are checked against the table in one query per
+ * {@value #LOOKUP_CHUNK_SIZE} keys. The filter is loaded from the table at startup and grows with each
+ * committed save. Keys saved by another instance are not in it, so the unique index remains what
+ * guarantees no duplicates.
+ */
+@Component
+public class IdempotencyKeyIndex implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyIndex.class);
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final TransactionRepo transactionRepo;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long expectedKeys;
+
+    /**
+     * Not thread-safe, so every access holds its monitor.
+     */
+    private final BloomFilter savedKeys;
+
+    private final AtomicLong savedKeyCount = new AtomicLong();
+
+    private final Cache<String, Boolean> recentKeys;
+
+    public IdempotencyKeyIndex(TransactionRepo transactionRepo,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${transaction.idempotency.expected-keys:1000000}") long expectedKeys,
+                               @Value("${transaction.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${transaction.idempotency.recent-keys:10000}") long recentKeys) {
+        this.transactionRepo = transactionRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.expectedKeys = expectedKeys;
+        this.savedKeys = BloomFilterBuilder.createByAccuracy(expectedKeys, falsePositiveRate);
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(recentKeys)
+                .build();
+
+        Gauge.builder("transaction.idempotency.keys", savedKeyCount, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("transaction.idempotency.filter.memory", savedKeys, filter -> filter.getCapacity() / 8.0)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads before any bean that saves through it is created, including the write-behind writer.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        load();
+    }
+
+    public void load() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> transactionRepo.forEachIdempotencyKey(this::addToFilter));
+
+        logger.info("Idempotency filter loaded {} keys in {} ms - {} KB", savedKeyCount.get(),
+                (System.nanoTime() - start) / 1_000_000, savedKeys.getCapacity() / 8 / 1024);
+        if (savedKeyCount.get() > expectedKeys) {
+            logger.warn("Idempotency filter holds {} keys, more than transaction.idempotency.expected-keys {} - "
+                    + "raise it to keep false positives down", savedKeyCount.get(), expectedKeys);
+        }
+    }
+
+    /**
+     * The given keys that are already saved.
+     */
+    public Set<String> findSaved(Collection<String> keys) {
+        Set<String> saved = new HashSet<>();
+        List<String> candidates = new ArrayList<>();
+        int recent = 0;
+        for (String key : keys) {
+            if (recentKeys.getIfPresent(key) != null) {
+                saved.add(key);
+                recent++;
+            }
+            else if (mightBeSaved(key)) {
+                candidates.add(key);
+            }
+        }
+
+        for (int from = 0; from < candidates.size(); from += LOOKUP_CHUNK_SIZE) {
+            saved.addAll(transactionRepo.findExistingIdempotencyKeys(
+                    candidates.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, candidates.size()))));
+        }
+
+        count("recent", recent);
+        count("filtered", keys.size() - recent - candidates.size());
+        count("database_hit", saved.size() - recent);
+        count("database_miss", candidates.size() - (saved.size() - recent));
+        return saved;
+    }
+
+    /**
+     * Adds the keys once the save commits, see {@link AfterCommit}.
+     */
+    public void recordSaved(Collection<String> keys) {
+        AfterCommit.run(() -> recordCommitted(keys));
+    }
+
+    private void recordCommitted(Collection<String> keys) {
+        for (String key : keys) {
+            addToFilter(key);
+            recentKeys.put(key, Boolean.TRUE);
+        }
+    }
+
+    private void addToFilter(String key) {
+        synchronized (savedKeys) {
+            savedKeys.update(key);
+        }
+        savedKeyCount.incrementAndGet();
+    }
+
+    private boolean mightBeSaved(String key) {
+        synchronized (savedKeys) {
+            return savedKeys.query(key);
+        }
+    }
+
+    private void count(String result, int keys) {
+        if (keys > 0) {
+            meterRegistry.counter("transaction.idempotency.lookups", "result", result).increment(keys);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.repo.ReactiveTransactionRepo;
+import com.virginmoney.transaction.repo.SpendStatisticsView;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link TransactionService} operations for the reactive stack, selected with the {@code reactive} profile.
+ * Reads go through {@link ReactiveTransactionRepo} without blocking a thread, with the same results and
+ * errors as {@link TransactionServiceImpl}. They do not go through the read-through cache.
+ *
+ * Saves still run on the blocking {@link TransactionService}, moved to the bounded elastic pool, because the
+ * summary and idempotency keys are written in the same JPA transaction as the rows.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTransactionService.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveTransactionRepo transactionRepo;
+
+    private final TransactionService transactionService;
+
+    private final MeterRegistry meterRegistry;
+
+    public Mono<SaveResultDto> saveTransactions(List<TransactionRequestDto> transactionRequests) {
+        return Mono.fromCallable(() -> transactionService.saveTransactions(transactionRequests))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<List<TransactionDto>> getLatestByCategory(String category, int limit) {
+        return queryDb(transactionRepo.findLatestByCategory(category, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE))
+                        .map(TransactionMapper::toDto)
+                        .collectList())
+                .filter(transactions -> !transactions.isEmpty())
+                .switchIfEmpty(Mono.error(() -> categoryNotFound(category)))
+                .doOnNext(transactions -> {
+                    recordRowsReturned("latest", transactions.size());
+                    logger.debug("TransactionSize: {}", transactions.size());
+                });
+    }
+
+    /**
+     * Every transaction of the category, newest first. Rows are read only as fast as the client takes them.
+     */
+    public Flux<TransactionDto> streamLatestByCategory(String category) {
+        return queryDb(transactionRepo.existsByCategory(category))
+                .flatMapMany(exists -> exists
+                        ? queryDb(transactionRepo.streamLatestByCategory(category)).map(TransactionMapper::toDto)
+                        : Flux.error(categoryNotFound(category)));
+    }
+
+    public Mono<BigDecimal> getTotalSpendByCategory(String category) {
+        return queryDb(transactionRepo.sumMinorByCategory(category))
+                .switchIfEmpty(Mono.error(() -> categoryNotFound(category)))
+                .map(Money::toDecimal)
+                .doOnNext(totalSpend -> logger.debug("totalspendCalculated: {}", totalSpend.signum() > 0));
+    }
+
+    public Mono<Map<String, BigDecimal>> getMonthlyAverageByCategory(String category) {
+        return queryDb(transactionRepo.findMonthlyAveragesByCategory(category).collectList())
+                .filter(monthlyAverages -> !monthlyAverages.isEmpty())
+                .switchIfEmpty(Mono.error(() -> categoryNotFound(category)))
+                .map(monthlyAverages -> {
+                    recordRowsReturned("monthlyAverage", monthlyAverages.size());
+                    Map<String, BigDecimal> result = monthlyAverages.stream()
+                            .collect(Collectors.toMap(
+                                    monthlyAverage -> Month.of(monthlyAverage.getMonth()).name() + "_" + monthlyAverage.getYear(),
+                                    monthlyAverage -> Money.toDecimal(Money.average(monthlyAverage.getTotal(), monthlyAverage.getCount()))
+                            ));
+                    logger.debug("NoOfmonthlyAveragesReturned: {}", result.size());
+                    return result;
+                });
+    }
+
+    public Mono<StatisticsDto> getYearlyStatisticsByCategory(String category, int year) {
+        return queryDb(transactionRepo.findStatisticsByCategoryAndYear(category, year))
+                .filter(stats -> stats.getCount() != 0)
+                .map(ReactiveTransactionService::toStatistics)
+                .switchIfEmpty(queryDb(transactionRepo.existsByCategory(category))
+                        .flatMap(exists -> Mono.<StatisticsDto>error(exists
+                                ? yearNotFound(category, year)
+                                : categoryNotFound(category))));
+    }
+
+    private static StatisticsDto toStatistics(SpendStatisticsView stats) {
+        return StatisticsDto.builder()
+                .lowest_spend(Money.toDecimal(stats.getLowest()))
+                .highest_spend(Money.toDecimal(stats.getHighest()))
+                .average_spend(Money.toDecimal(Money.average(stats.getTotal(), stats.getCount())))
+                .build();
+    }
+
+    private void recordRowsReturned(String query, int rows) {
+        meterRegistry.summary("transaction.rows.returned", "query", query).record(rows);
+    }
+
+    private static <T> Mono<T> queryDb(Mono<T> query) {
+        return query.onErrorMap(ReactiveTransactionService::isDatabaseError, ReactiveTransactionService::databaseFetchError);
+    }
+
+    private static <T> Flux<T> queryDb(Flux<T> query) {
+        return query.onErrorMap(ReactiveTransactionService::isDatabaseError, ReactiveTransactionService::databaseFetchError);
+    }
+
+    private static boolean isDatabaseError(Throwable exception) {
+        return !(exception instanceof TransactionNotFound);
+    }
+
+    private static DatabaseFetchException databaseFetchError(Throwable exception) {
+        logger.error("Error fetching data - throws exception", exception);
+        return new DatabaseFetchException("Error fetching transactions from database");
+    }
+
+    private static TransactionNotFound yearNotFound(String category, int year) {
+        logger.error("No transaction found for this year category {} in {} - throws exception", category, year);
+        return new TransactionNotFound(String.format("No transactions found for the category: %s in %d", category, year));
+    }
+
+    private static TransactionNotFound categoryNotFound(String category) {
+        logger.error("No transaction found category {} - throws exception", category);
+        return new TransactionNotFound("No transactions found for the category : " + category);
+    }
+}
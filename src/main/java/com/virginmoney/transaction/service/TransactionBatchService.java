@@ -0,0 +1,203 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.BatchResultDto;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.exception.BatchQueueFullException;
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.InvalidQueryException;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.model.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Batch variants of the per-category {@link TransactionService} reads. The categories of a batch are
+ * independent, so they run concurrently on a fixed pool of {@code transaction.batch.parallelism} threads,
+ * the Hikari pool size by default, shared by all batches. Each category gets its own result or error, so a
+ * {@link TransactionNotFound} for one category does not fail the others. Calls go through
+ * {@link TransactionService}, so the read-through cache and the DB bulkhead still apply.
+ * <p>
+ * A batch that does not fit in the queue fails as a whole with {@link BatchQueueFullException} rather than
+ * running on the request thread, and calls still queued at the timeout are cancelled before they start. A
+ * call already running is not interrupted; the JPA query timeout and the bulkhead acquire timeout bound it.
+ */
+@Service
+public class TransactionBatchService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchService.class);
+
+    private final TransactionService transactionService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor;
+
+    private final int maxCategories;
+
+    private final Duration timeout;
+
+    public TransactionBatchService(TransactionService transactionService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${transaction.batch.parallelism}") int parallelism,
+                                   @Value("${transaction.batch.max-categories:100}") int maxCategories,
+                                   @Value("${transaction.batch.timeout:10s}") Duration timeout) {
+        this.transactionService = transactionService;
+        this.meterRegistry = meterRegistry;
+        this.maxCategories = maxCategories;
+        this.timeout = timeout;
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(parallelism * maxCategories),
+                new CustomizableThreadFactory("transaction-batch-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "transaction.batch");
+    }
+
+    public BatchResultDto<List<TransactionDto>> getLatestByCategories(List<String> categories, int limit) {
+        return fanOut(categories, category -> transactionService.getLatestByCategory(category, limit));
+    }
+
+    public BatchResultDto<BigDecimal> getTotalSpendByCategories(List<String> categories) {
+        return fanOut(categories, transactionService::getTotalSpendByCategory);
+    }
+
+    public BatchResultDto<Map<String, BigDecimal>> getMonthlyAverageByCategories(List<String> categories) {
+        return fanOut(categories, transactionService::getMonthlyAverageByCategory);
+    }
+
+    public BatchResultDto<StatisticsDto> getYearlyStatisticsByCategories(List<String> categories, int year) {
+        return fanOut(categories, category -> transactionService.getYearlyStatisticsByCategory(category, year));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> BatchResultDto<T> fanOut(List<String> categories, Function<String, T> call) {
+        List<String> distinctCategories = validate(categories);
+        meterRegistry.summary("transaction.batch.categories").record(distinctCategories.size());
+
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        Map<String, Future<T>> futures = new LinkedHashMap<>();
+        for (String category : distinctCategories) {
+            try {
+                futures.put(category, executor.submit(() -> withContext(context, () -> call.apply(category))));
+            }
+            catch (RejectedExecutionException exception) {
+                futures.values().forEach(future -> future.cancel(false));
+                throw new BatchQueueFullException("Batch queue is full, please retry");
+            }
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, T> results = new LinkedHashMap<>();
+        Map<String, ErrorResponse> errors = new LinkedHashMap<>();
+        futures.forEach((category, future) -> {
+            try {
+                results.put(category, future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS));
+            }
+            catch (ExecutionException exception) {
+                errors.put(category, toError(exception.getCause()));
+            }
+            catch (TimeoutException exception) {
+                future.cancel(false);
+                errors.put(category, new ErrorResponse(HttpStatus.GATEWAY_TIMEOUT.value(),
+                        "Timed out after " + timeout.toMillis() + " ms for the category : " + category));
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                future.cancel(false);
+                errors.put(category, new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Batch interrupted"));
+            }
+        });
+
+        logger.debug("Batch Categories: {}, Succeeded: {}, Failed: {}", distinctCategories.size(), results.size(), errors.size());
+
+        return new BatchResultDto<>(results, errors);
+    }
+
+    private List<String> validate(List<String> categories) {
+        if (categories == null || categories.isEmpty()) {
+            throw new InvalidQueryException("At least one category is required");
+        }
+        List<String> distinctCategories = categories.stream().distinct().toList();
+        if (distinctCategories.size() > maxCategories) {
+            throw new InvalidQueryException("At most " + maxCategories + " categories are allowed per batch");
+        }
+        return distinctCategories;
+    }
+
+    /**
+     * Runs with the request's MDC, restoring the pool thread's own afterwards.
+     */
+    private static <T> T withContext(Map<String, String> context, Supplier<T> task) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        setContext(context);
+        try {
+            return task.get();
+        }
+        finally {
+            setContext(previous);
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        }
+        else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    /**
+     * Same status and message the category's own endpoint would have answered with.
+     */
+    private static ErrorResponse toError(Throwable failure) {
+        HttpStatus status;
+        if (failure instanceof TransactionNotFound) {
+            status = HttpStatus.NOT_FOUND;
+        }
+        else if (failure instanceof DatabaseBusyException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        else if (failure instanceof InvalidQueryException) {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        else if (failure instanceof DatabaseFetchException) {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        else {
+            logger.error("Unexpected batch failure", failure);
+            return new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Unexpected error");
+        }
+        return new ErrorResponse(status.value(), failure.getMessage());
+    }
+}
@@ -0,0 +1,29 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position (date, id) of the last transaction on a page. Pages are ordered
+ * newest first, so the next page holds rows strictly before this position.
+ */
+record TransactionCursor(Date date, long id) {
+
+    static TransactionCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new TransactionCursor(Date.valueOf(LocalDate.ofEpochDay(Long.parseLong(parts[0]))), Long.parseLong(parts[1]));
+        } catch (RuntimeException exception) {
+            throw new InvalidCursorException("Invalid cursor : " + cursor);
+        }
+    }
+
+    String encode() {
+        String position = date.toLocalDate().toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
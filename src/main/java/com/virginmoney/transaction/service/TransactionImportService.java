@@ -0,0 +1,355 @@
+package com.virginmoney.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.virginmoney.transaction.dto.ImportFailureDto;
+import com.virginmoney.transaction.dto.ImportSummaryDto;
+import com.virginmoney.transaction.dto.RejectedRowDto;
+import com.virginmoney.transaction.dto.TransactionDates;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.DuplicateTransactionException;
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams NDJSON or CSV transaction files from the request body record by record and saves them
+ * in fixed-size chunks through {@link TransactionService#saveTransactions}, so heap use depends
+ * on the chunk size rather than the file size. Each chunk commits on its own; if one fails, the import
+ * stops and the summary reports the rows already committed and the lines of the failed chunk.
+ *
+ * CSV follows RFC 4180: the first record must be the {@code date,vendor,type,amount,category} header,
+ * fields may be quoted, a quote inside a quoted field is doubled, and a quoted field may span up to
+ * {@code transaction.import.max-record-lines} lines.
+ */
+@Service
+@Timed(value = "transaction.import", histogram = true)
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final List<String> CSV_COLUMNS = List.of("date", "vendor", "type", "amount", "category");
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final TransactionService transactionService;
+
+    private final ObjectReader requestReader;
+
+    private final int chunkSize;
+
+    private final int maxReportedRejections;
+
+    private final int maxRecordLines;
+
+    public TransactionImportService(TransactionService transactionService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${transaction.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${transaction.import.max-reported-rejections:1000}") int maxReportedRejections,
+                                    @Value("${transaction.import.max-record-lines:20}") int maxRecordLines) {
+        this.transactionService = transactionService;
+        this.requestReader = objectMapper.readerFor(TransactionRequestDto.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+        this.maxRecordLines = maxRecordLines;
+    }
+
+    public ImportSummaryDto importNdjson(InputStream body) throws IOException {
+        return importRecords(body, false, line -> requestReader.readValue(line));
+    }
+
+    /**
+     * @throws InvalidTransactionException when the first record is not the expected header
+     */
+    public ImportSummaryDto importCsv(InputStream body) throws IOException {
+        return importRecords(body, true, TransactionImportService::parseCsvRow);
+    }
+
+    private ImportSummaryDto importRecords(InputStream body, boolean csv, RowParser parser) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportProgress progress = new ImportProgress();
+        List<TransactionRequestDto> chunk = new ArrayList<>(chunkSize);
+        long chunkFirstLine = 0;
+        long chunkLastLine = 0;
+
+        try (RecordReader reader = new RecordReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), csv, maxRecordLines)) {
+            String record;
+            boolean header = csv;
+
+            while ((record = reader.next()) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                if (header) {
+                    checkCsvHeader(record);
+                    header = false;
+                    continue;
+                }
+
+                try {
+                    TransactionRequestDto request = parser.parse(record);
+                    TransactionMapper.validate(request);
+                    chunk.add(request);
+                } catch (Exception exception) {
+                    progress.reject(reader.recordLine, reason(exception));
+                    continue;
+                }
+                if (chunk.size() == 1) {
+                    chunkFirstLine = reader.recordLine;
+                }
+                chunkLastLine = reader.lineNumber;
+
+                if (chunk.size() == chunkSize) {
+                    if (!save(chunk, progress, chunkFirstLine, chunkLastLine)) {
+                        return summary(progress, start);
+                    }
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        save(chunk, progress, chunkFirstLine, chunkLastLine);
+
+        return summary(progress, start);
+    }
+
+    /**
+     * Saves the chunk, or records why it failed and returns false. Earlier chunks stay committed.
+     */
+    private boolean save(List<TransactionRequestDto> chunk, ImportProgress progress, long firstLine, long lastLine) {
+        if (chunk.isEmpty()) {
+            return true;
+        }
+        try {
+            int deduplicated = transactionService.saveTransactions(chunk).deduplicated();
+            progress.accepted += chunk.size() - deduplicated;
+            progress.deduplicated += deduplicated;
+            return true;
+        }
+        catch (RuntimeException exception) {
+            logger.error("Import stopped - saving lines {} to {} failed", firstLine, lastLine, exception);
+            progress.failure = failure(exception, firstLine, lastLine);
+            return false;
+        }
+    }
+
+    private ImportSummaryDto summary(ImportProgress progress, long start) {
+        logger.info("Import {} - accepted: {}, deduplicated: {}, rejected: {}",
+                progress.failure == null ? "completed" : "failed", progress.accepted, progress.deduplicated, progress.rejected);
+
+        return ImportSummaryDto.builder()
+                .accepted(progress.accepted)
+                .deduplicated(progress.deduplicated)
+                .rejected(progress.rejected)
+                .rejectedRows(progress.rejectedRows)
+                .failure(progress.failure)
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    /**
+     * Status and message as the save endpoint would answer; only the service's own exceptions carry a
+     * message meant for clients.
+     */
+    private static ImportFailureDto failure(RuntimeException exception, long firstLine, long lastLine) {
+        if (exception instanceof DuplicateTransactionException) {
+            return new ImportFailureDto(firstLine, lastLine, HttpStatus.CONFLICT.value(), exception.getMessage());
+        }
+        if (exception instanceof DatabaseBusyException) {
+            return new ImportFailureDto(firstLine, lastLine, HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+        }
+        String message = exception instanceof DatabaseFetchException
+                ? exception.getMessage()
+                : "Error storing transactions to database";
+        return new ImportFailureDto(firstLine, lastLine, HttpStatus.INTERNAL_SERVER_ERROR.value(), message);
+    }
+
+    private static void checkCsvHeader(String record) {
+        List<String> columns = splitCsv(record.startsWith(BYTE_ORDER_MARK) ? record.substring(1) : record).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!columns.equals(CSV_COLUMNS)) {
+            throw new InvalidTransactionException("CSV header must be " + String.join(",", CSV_COLUMNS) + " but was " + record);
+        }
+    }
+
+    static TransactionRequestDto parseCsvRow(String record) {
+        List<String> fields = splitCsv(record);
+        if (fields.size() != CSV_COLUMNS.size()) {
+            throw new InvalidTransactionException("expected columns " + CSV_COLUMNS + " but found " + fields.size());
+        }
+
+        try {
+            return new TransactionRequestDto(
+                    TransactionDates.parse(fields.get(0).trim()),
+                    fields.get(1),
+                    fields.get(2).trim(),
+                    new BigDecimal(fields.get(3).trim()),
+                    fields.get(4));
+        } catch (DateTimeParseException exception) {
+            throw new InvalidTransactionException("date must be in dd/MMM/yyyy format");
+        } catch (NumberFormatException exception) {
+            throw new InvalidTransactionException("amount must be a number");
+        }
+    }
+
+    private static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidTransactionException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String reason(Exception exception) {
+        String message = exception.getMessage();
+        if (message == null) {
+            return exception.getClass().getSimpleName();
+        }
+        // Jackson messages carry the whole source location; the first line is the useful part
+        return Arrays.stream(message.split("\n")).findFirst().orElse(message);
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        TransactionRequestDto parse(String record) throws IOException;
+    }
+
+    /**
+     * Reads one record per line, except that a CSV record continues onto the next line while a quoted field
+     * is open (an odd number of quotes so far). A line break inside a quoted field is kept as {@code \n}.
+     * A quote still open after {@code maxRecordLines} lines or at the end of the input, such as a stray quote
+     * in an unquoted field, makes the opening line a record of its own, which splitCsv rejects; reading then
+     * carries on from the line after it.
+     */
+    private static final class RecordReader implements AutoCloseable {
+
+        private final BufferedReader reader;
+
+        private final boolean csv;
+
+        private final int maxRecordLines;
+
+        /**
+         * Lines read ahead for a record that never closed its quote, to be read again.
+         */
+        private final Deque<String> readAhead = new ArrayDeque<>();
+
+        private long lineNumber;
+
+        /**
+         * Line the last record started on.
+         */
+        private long recordLine;
+
+        RecordReader(BufferedReader reader, boolean csv, int maxRecordLines) {
+            this.reader = reader;
+            this.csv = csv;
+            this.maxRecordLines = maxRecordLines;
+        }
+
+        String next() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            recordLine = ++lineNumber;
+            if (!csv || quotes(line) % 2 == 0) {
+                return line;
+            }
+
+            List<String> lines = new ArrayList<>();
+            lines.add(line);
+            long quotes = quotes(line);
+            while (quotes % 2 != 0 && lines.size() < maxRecordLines && (line = readLine()) != null) {
+                lines.add(line);
+                quotes += quotes(line);
+            }
+            if (quotes % 2 != 0) {
+                for (int i = lines.size() - 1; i > 0; i--) {
+                    readAhead.push(lines.get(i));
+                }
+                return lines.get(0);
+            }
+            lineNumber += lines.size() - 1;
+            return String.join("\n", lines);
+        }
+
+        private String readLine() throws IOException {
+            return readAhead.isEmpty() ? reader.readLine() : readAhead.pop();
+        }
+
+        private static long quotes(String line) {
+            return line.chars().filter(c -> c == '"').count();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private final class ImportProgress {
+
+        private long accepted;
+
+        private long deduplicated;
+
+        private long rejected;
+
+        private final List<RejectedRowDto> rejectedRows = new ArrayList<>();
+
+        private ImportFailureDto failure;
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejectedRows.size() < maxReportedRejections) {
+                rejectedRows.add(new RejectedRowDto(line, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.TransactionQueryDto;
+import com.virginmoney.transaction.dto.TransactionQueryResultDto;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.InvalidQueryException;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionType;
+import com.virginmoney.transaction.repo.AggregationDimension;
+import com.virginmoney.transaction.repo.AggregationMetric;
+import com.virginmoney.transaction.repo.AggregationQuery;
+import com.virginmoney.transaction.repo.AggregationRow;
+import com.virginmoney.transaction.repo.TransactionAggregationRepo;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Validates an aggregation request against the whitelisted dimensions and metrics and answers it with a
+ * single query through {@link TransactionAggregationRepo}, so a report across many categories, months or
+ * vendors costs one round trip instead of one call per category and statistic.
+ */
+@Service
+@Timed(value = "transaction.query", histogram = true)
+public class TransactionQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionQueryService.class);
+
+    private static final List<AggregationMetric> DEFAULT_METRICS =
+            List.of(AggregationMetric.COUNT, AggregationMetric.SUM, AggregationMetric.AVG);
+
+    private final TransactionAggregationRepo aggregationRepo;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxGroups;
+
+    public TransactionQueryService(TransactionAggregationRepo aggregationRepo,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${transaction.query.max-groups:10000}") int maxGroups) {
+        this.aggregationRepo = aggregationRepo;
+        this.meterRegistry = meterRegistry;
+        this.maxGroups = maxGroups;
+    }
+
+    public TransactionQueryResultDto query(TransactionQueryDto request) {
+        List<AggregationDimension> groupBy = parse(request.groupBy(), AggregationDimension.class, "group-by dimension");
+        List<AggregationMetric> requestedMetrics = parse(request.metrics(), AggregationMetric.class, "metric");
+        List<AggregationMetric> metrics = requestedMetrics.isEmpty() ? DEFAULT_METRICS : requestedMetrics;
+        if (request.from() != null && request.to() != null && request.from().isAfter(request.to())) {
+            throw new InvalidQueryException("Invalid date range : " + request.from() + " is after " + request.to());
+        }
+
+        AggregationQuery query = AggregationQuery.builder()
+                .groupBy(groupBy)
+                .metrics(metrics)
+                .categories(orEmpty(request.categories()))
+                .vendors(orEmpty(request.vendors()))
+                .types(parse(request.types(), TransactionType.class, "transaction type"))
+                .from(request.from())
+                .to(request.to())
+                .maxGroups(maxGroups)
+                .build();
+
+        List<AggregationRow> rows = queryDb(query);
+        if (rows.size() > maxGroups) {
+            throw new InvalidQueryException("Query matches more than " + maxGroups + " groups, narrow the filters or group-by");
+        }
+        meterRegistry.summary("transaction.rows.returned", "query", "aggregate").record(rows.size());
+
+        List<String> groupNames = names(groupBy);
+        List<String> metricNames = names(metrics);
+        List<Map<String, Object>> result = rows.stream()
+                .map(row -> toResultRow(row, groupNames, metrics, metricNames))
+                .toList();
+
+        logger.debug("Query GroupBy: {}, Metrics: {}, GroupsReturned: {}", groupNames, metricNames, result.size());
+
+        return new TransactionQueryResultDto(groupNames, metricNames, result);
+    }
+
+    private List<AggregationRow> queryDb(AggregationQuery query) {
+        try {
+            return aggregationRepo.aggregate(query);
+        }
+        catch (Exception exception){
+            logger.error("Error running aggregation query - throws exception");
+            throw new DatabaseFetchException("Error fetching transactions from database");
+        }
+    }
+
+    private static Map<String, Object> toResultRow(AggregationRow row, List<String> groupNames,
+                                                   List<AggregationMetric> metrics, List<String> metricNames) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < groupNames.size(); i++) {
+            result.put(groupNames.get(i), row.group().get(i));
+        }
+        for (int i = 0; i < metrics.size(); i++) {
+            Long value = row.metrics().get(i);
+            result.put(metricNames.get(i), value == null || !metrics.get(i).isAmount() ? value : Money.toDecimal(value));
+        }
+        return result;
+    }
+
+    private static <E extends Enum<E>> List<E> parse(List<String> values, Class<E> type, String description) {
+        return orEmpty(values).stream()
+                .map(value -> {
+                    try {
+                        return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+                    }
+                    catch (IllegalArgumentException | NullPointerException exception) {
+                        throw new InvalidQueryException("Unknown " + description + " : " + value
+                                + ", expected one of " + names(Arrays.asList(type.getEnumConstants())));
+                    }
+                })
+                .distinct()
+                .toList();
+    }
+
+    private static List<String> names(List<? extends Enum<?>> values) {
+        return values.stream()
+                .map(value -> value.name().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values == null ? List.of() : values;
+    }
+}
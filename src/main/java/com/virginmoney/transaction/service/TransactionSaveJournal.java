@@ -0,0 +1,176 @@
+package com.virginmoney.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of the saves accepted by {@link TransactionWriteBehindQueue} and not yet committed to the
+ * database. Each record is its length, a CRC32 and a JSON {@link Entry}; an entry without transactions marks
+ * its ticket as done. {@link #append} returns once the record is on disk, and concurrent appends share one
+ * fsync. The file is truncated whenever no save is outstanding, so it only ever holds the backlog.
+ *
+ * Replay is at-least-once: a crash between the database commit and the done record replays that batch,
+ * and its idempotency keys make the replay skip the transactions already saved.
+ */
+public class TransactionSaveJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSaveJournal.class);
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    private final FileChannel channel;
+
+    private final Object forceLock = new Object();
+
+    /**
+     * Bytes appended since opening, which keeps counting across truncations.
+     */
+    private long written;
+
+    private long forced;
+
+    private int outstanding;
+
+    public TransactionSaveJournal(Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Reads the saves that were accepted but never marked done and rewrites the journal with just those.
+     * A torn record at the end, from a crash during an append that was never acknowledged, is dropped.
+     */
+    public synchronized List<Entry> recover() throws IOException {
+        Map<String, List<TransactionRequestDto>> pending = new LinkedHashMap<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        long position = 0;
+
+        while (channel.read(header.clear(), position) == HEADER_BYTES) {
+            int length = header.getInt(0);
+            long crc = Integer.toUnsignedLong(header.getInt(Integer.BYTES));
+            if (length <= 0 || position + HEADER_BYTES + length > channel.size()) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + HEADER_BYTES);
+            if (checksum(payload.array()) != crc) {
+                break;
+            }
+
+            Entry entry = objectMapper.readValue(payload.array(), Entry.class);
+            if (entry.transactions() == null) {
+                pending.remove(entry.ticket());
+            }
+            else {
+                pending.put(entry.ticket(), entry.transactions());
+            }
+            position += HEADER_BYTES + length;
+        }
+        if (position < channel.size()) {
+            logger.warn("Save journal {} has {} unreadable bytes at offset {} - dropped", path, channel.size() - position, position);
+        }
+
+        List<Entry> entries = new ArrayList<>(pending.size());
+        pending.forEach((ticket, transactions) -> entries.add(new Entry(ticket, transactions)));
+
+        channel.truncate(0);
+        for (Entry entry : entries) {
+            write(entry);
+        }
+        outstanding = entries.size();
+        channel.force(false);
+        forced = written;
+
+        logger.info("Save journal {} recovered {} pending saves", path, entries.size());
+        return entries;
+    }
+
+    public void append(String ticket, List<TransactionRequestDto> transactions) throws IOException {
+        long end;
+        synchronized (this) {
+            write(new Entry(ticket, transactions));
+            outstanding++;
+            end = written;
+        }
+        force(end);
+    }
+
+    /**
+     * Marks the save as done without forcing it to disk; losing the mark only means replaying the save.
+     */
+    public synchronized void complete(String ticket) throws IOException {
+        write(new Entry(ticket, null));
+        if (--outstanding == 0) {
+            channel.truncate(0);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Group commit: whoever holds the lock forces everything written so far, so appends waiting behind it
+     * usually find their record already on disk and return without an fsync of their own.
+     */
+    private void force(long end) throws IOException {
+        synchronized (forceLock) {
+            if (forced >= end) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = written;
+            }
+            channel.force(false);
+            forced = target;
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(entry);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) checksum(payload))
+                .put(payload)
+                .flip();
+        long position = channel.size();
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        written += HEADER_BYTES + payload.length;
+    }
+
+    private static long checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    public record Entry(String ticket, List<TransactionRequestDto> transactions) {
+    }
+}
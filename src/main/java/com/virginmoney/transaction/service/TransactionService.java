@@ -1,21 +1,35 @@
 package com.virginmoney.transaction.service;
 
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SpendDistributionDto;
 import com.virginmoney.transaction.dto.StatisticsDto;
 import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionPageDto;
 import com.virginmoney.transaction.dto.TransactionRequestDto;
-import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Transaction reads and saves as plain results, free of HTTP types so controllers, batch jobs and
+ * consumers can share them. Failures are thrown: {@link com.virginmoney.transaction.exception.TransactionNotFound}
+ * when the category or year has no transactions, {@link com.virginmoney.transaction.exception.DatabaseFetchException}
+ * when the database fails.
+ */
 public interface TransactionService {
-    ResponseEntity<List<TransactionDto>> getLatestByCategory(String category);
 
-    ResponseEntity<Double> getTotalSpendByCategory(String category);
+    List<TransactionDto> getLatestByCategory(String category, int limit);
 
-    ResponseEntity<Map<String, Double>> getMonthlyAverageByCategory(String category);
+    TransactionPageDto getPageByCategory(String category, int limit, String cursor);
 
-    ResponseEntity<List<TransactionDto>> saveTransactions(List<TransactionRequestDto> transactionRequests);
+    BigDecimal getTotalSpendByCategory(String category);
 
-    ResponseEntity<StatisticsDto> getYearlyStatisticsByCategory(String category, int year);
+    Map<String, BigDecimal> getMonthlyAverageByCategory(String category);
+
+    SaveResultDto saveTransactions(List<TransactionRequestDto> transactionRequests);
+
+    StatisticsDto getYearlyStatisticsByCategory(String category, int year);
+
+    SpendDistributionDto getYearlyDistributionByCategory(String category, int year);
 }
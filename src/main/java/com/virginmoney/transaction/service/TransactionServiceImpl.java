@@ -1,178 +1,318 @@
 package com.virginmoney.transaction.service;
 
 
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SpendDistributionDto;
 import com.virginmoney.transaction.dto.StatisticsDto;
 import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionPageDto;
 import com.virginmoney.transaction.dto.TransactionRequestDto;
-import com.virginmoney.transaction.model.TransactionType;
 import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.DuplicateTransactionException;
 import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.model.Money;
 import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import com.virginmoney.transaction.repo.MonthlyAverageView;
+import com.virginmoney.transaction.repo.SpendStatisticsView;
 import com.virginmoney.transaction.repo.TransactionRepo;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Month;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "transaction.service", histogram = true)
 public class TransactionServiceImpl implements TransactionService{
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final TransactionRepo transactionRepo;
 
+    private final CategoryMonthlySummaryRepo summaryRepo;
+
+    private final TransactionSummaryService summaryService;
+
+    private final TransactionSketchService sketchService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Optional<ColumnarTransactionStore> columnarStore;
+
+    private final IdempotencyKeyIndex idempotencyKeys;
+
+    private final CategoryVersions categoryVersions;
+
+    /**
+     * Also skip keyless transactions whose content was saved before. Off by default: it drops genuinely
+     * identical purchases, e.g. two coffees on the same day.
+     */
+    @Value("${transaction.idempotency.content-keys:false}")
+    private boolean contentKeys;
+
     @Override
-    public ResponseEntity<List<TransactionDto>> getLatestByCategory(String category) {
+    public List<TransactionDto> getLatestByCategory(String category, int limit) {
 
-        List<TransactionEntity> allTransactions = fetchDataFromDb(category);
+        List<TransactionEntity> latestTransactions = fetchDataFromDb(category, pageSize(limit));
+        recordRowsReturned("latest", latestTransactions.size());
 
-        List<TransactionDto> response = allTransactions.stream()
-                                            .map(this::mapToResponseDto)
-                                            .sorted(Comparator.comparing(TransactionDto::date))
+        List<TransactionDto> response = latestTransactions.stream()
+                                            .map(TransactionMapper::toDto)
                                             .toList();
 
-        logger.debug("Response Status: {}, TransactionSize: {}",
-               HttpStatus.OK, response.size());
+        logger.debug("TransactionSize: {}", response.size());
 
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return response;
     }
 
     @Override
-    public ResponseEntity<Double> getTotalSpendByCategory(String category) {
-        List<TransactionEntity> allTransactions = fetchDataFromDb(category);
+    public TransactionPageDto getPageByCategory(String category, int limit, String cursor) {
+        int pageSize = pageSize(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        TransactionCursor position = cursor == null ? null : TransactionCursor.decode(cursor);
+
+        List<TransactionEntity> transactions = position == null
+                ? queryDb(() -> transactionRepo.findLatestByCategory(category, fetchLimit))
+                : queryDb(() -> transactionRepo.findLatestByCategoryBefore(category, position.date(), position.id(), fetchLimit));
 
-        double totalSpend = allTransactions.stream()
-                    .map(TransactionEntity::getAmount)
-                    .reduce(0.0, Double::sum);
+        if (transactions.isEmpty() && position == null) {
+            throw categoryNotFound(category);
+        }
+
+        recordRowsReturned("page", transactions.size());
+        boolean hasMore = transactions.size() > pageSize;
+        List<TransactionEntity> page = hasMore ? transactions.subList(0, pageSize) : transactions;
+        TransactionEntity last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore ? new TransactionCursor(last.getDate(), last.getId()).encode() : null;
 
-        logger.debug("Response Status: {}, totalspendCalculated: {}",
-                HttpStatus.OK, totalSpend > 0.0);
+        List<TransactionDto> response = page.stream()
+                .map(TransactionMapper::toDto)
+                .toList();
 
-        return new ResponseEntity<>(totalSpend, HttpStatus.OK);
+        logger.debug("PageSize: {}, HasMore: {}", response.size(), hasMore);
 
+        return new TransactionPageDto(response, nextCursor);
     }
 
     @Override
-    public ResponseEntity<Map<String, Double>> getMonthlyAverageByCategory(String category) {
-        List<TransactionEntity> allTransactions = fetchDataFromDb(category);
+    public BigDecimal getTotalSpendByCategory(String category) {
+        BigDecimal totalSpend = queryDb(() -> summaryRepo.sumMinorByCategory(category))
+                    .map(Money::toDecimal)
+                    .orElseThrow(() -> categoryNotFound(category));
+
+        logger.debug("totalspendCalculated: {}", totalSpend.signum() > 0);
 
-        Map<String, Double> result = allTransactions.stream()
-                    .collect(Collectors.groupingBy(
-                            transaction -> transaction.getDate().toLocalDate().getMonth().name() + "_" + transaction.getDate().toLocalDate().getYear(),
-                            Collectors.averagingDouble(TransactionEntity::getAmount)
+        return totalSpend;
+
+    }
+
+    @Override
+    public Map<String, BigDecimal> getMonthlyAverageByCategory(String category) {
+        List<MonthlyAverageView> monthlyAverages = columnarStore
+                .map(store -> store.findMonthlyAveragesByCategory(category))
+                .orElseGet(() -> queryDb(() -> summaryRepo.findMonthlyAveragesByCategory(category)));
+        recordRowsReturned("monthlyAverage", monthlyAverages.size());
+
+        if (monthlyAverages.isEmpty()) {
+            throw categoryNotFound(category);
+        }
+
+        Map<String, BigDecimal> result = monthlyAverages.stream()
+                    .collect(Collectors.toMap(
+                            monthlyAverage -> Month.of(monthlyAverage.getMonth()).name() + "_" + monthlyAverage.getYear(),
+                            monthlyAverage -> Money.toDecimal(Money.average(monthlyAverage.getTotal(), monthlyAverage.getCount()))
                     ));
 
-        logger.debug("Response Status: {}, NoOfmonthlyAveragesReturned: {}",
-                HttpStatus.OK, result.size());
+        logger.debug("NoOfmonthlyAveragesReturned: {}", result.size());
 
-       return new ResponseEntity<>(result, HttpStatus.OK);
+       return result;
     }
 
     @Override
-    public ResponseEntity<List<TransactionDto>> saveTransactions(List<TransactionRequestDto> transactionRequests) {
+    @Transactional
+    public SaveResultDto saveTransactions(List<TransactionRequestDto> transactionRequests) {
 
         //
         // TransactionEntity transactionEntity = transactionRepo.save(mapToEntity(transactionRequests));
         List<TransactionEntity> transactions = transactionRequests.stream()
-                                                .map(this::mapToEntity)
+                                                .map(TransactionMapper::toValidatedEntity)
                                                 .collect(Collectors.toList());
+        if (contentKeys) {
+            transactions.stream()
+                    .filter(transaction -> transaction.getIdempotencyKey() == null)
+                    .forEach(transaction -> transaction.setIdempotencyKey(TransactionMapper.contentIdempotencyKey(transaction)));
+        }
+        meterRegistry.summary("transaction.save.batch.size").record(transactions.size());
 
         try{
 
-            List<TransactionEntity> result = transactionRepo.saveAll(transactions);
-            return new ResponseEntity<>(result.stream()
-                    .map(this::mapToResponseDto)
-                    .collect(Collectors.toList()),
-                    HttpStatus.CREATED);
+            List<TransactionEntity> result = transactionRepo.saveAllInBatches(withoutSaved(transactions));
+            summaryService.accumulate(result);
+            columnarStore.ifPresent(store -> store.append(result));
+            idempotencyKeys.recordSaved(result.stream().map(TransactionEntity::getIdempotencyKey).filter(Objects::nonNull).toList());
+            categoryVersions.recordSaved(result.stream().map(TransactionEntity::getCategory).collect(Collectors.toSet()));
+
+            int deduplicated = transactions.size() - result.size();
+            meterRegistry.counter("transaction.save.deduplicated").increment(deduplicated);
+            logger.debug("Saved: {}, Deduplicated: {}", result.size(), deduplicated);
+
+            return new SaveResultDto(result.stream()
+                    .map(TransactionMapper::toDto)
+                    .collect(Collectors.toList()), deduplicated);
+        }
+        catch (DataIntegrityViolationException exception){
+            if (!violatesIdempotencyKey(exception)) {
+                logger.error("Error storing data - constraint violated", exception);
+                throw new DatabaseFetchException("Error storing transactions to database", exception);
+            }
+            logger.error("Idempotency key saved concurrently - throws exception");
+            throw new DuplicateTransactionException("Transactions were saved concurrently by another request, please retry");
         }
         catch (Exception exception){
             logger.error("Error storing data - throws exception");
-            throw new DatabaseFetchException("Error storing transactions to database");
+            // the cause tells the write-behind queue whether a retry can succeed
+            throw new DatabaseFetchException("Error storing transactions to database", exception);
         }
 
 
     }
 
     @Override
-    public ResponseEntity<StatisticsDto> getYearlyStatisticsByCategory(String category, int year) {
-        List<TransactionEntity> allTransactions = fetchDataFromDb(category);
-
-        DoubleSummaryStatistics stats = allTransactions.stream()
-                .filter(transaction -> transaction.getDate().toLocalDate().getYear() == year)
-                .mapToDouble(TransactionEntity::getAmount)
-                .summaryStatistics();
-
-        if(stats.getCount() != 0) {
-            StatisticsDto result = StatisticsDto.builder()
-                    .lowest_spend(stats.getMin())
-                    .highest_spend(stats.getMax())
-                    .average_spend(Math.round(stats.getAverage()*100.0)/ 100.0)
+    public StatisticsDto getYearlyStatisticsByCategory(String category, int year) {
+        SpendStatisticsView stats = columnarStore
+                .map(store -> store.findStatisticsByCategoryAndYear(category, year))
+                .orElseGet(() -> queryDb(() -> summaryRepo.findStatisticsByCategoryAndYear(category, year)));
+
+        if(stats != null && stats.getCount() != 0) {
+            return StatisticsDto.builder()
+                    .lowest_spend(Money.toDecimal(stats.getLowest()))
+                    .highest_spend(Money.toDecimal(stats.getHighest()))
+                    .average_spend(Money.toDecimal(Money.average(stats.getTotal(), stats.getCount())))
                     .build();
+        }
+        else if (!categoryExists(category)) {
+            throw categoryNotFound(category);
+        }
+        else {
+            throw yearNotFound(category, year);
+        }
+    }
 
+    @Override
+    public SpendDistributionDto getYearlyDistributionByCategory(String category, int year) {
+        Optional<SpendDistributionDto> distribution = queryDb(() -> sketchService.findDistributionByCategoryAndYear(category, year));
 
-            return new ResponseEntity<>(result, HttpStatus.OK);
+        if (distribution.isPresent()) {
+            logger.debug("TransactionCount: {}", distribution.get().transaction_count());
+            return distribution.get();
+        }
+        else if (!categoryExists(category)) {
+            throw categoryNotFound(category);
         }
         else {
-            logger.error("No transaction found for this year category {} in {} - throws exception", category, year);
-            throw new TransactionNotFound(String.format("No transactions found for the category: %s in %d", category, year));
+            throw yearNotFound(category, year);
+        }
+    }
+
+
+    /**
+     * Drops transactions whose key is saved already or repeated earlier in the list; keyless ones are kept.
+     */
+    private List<TransactionEntity> withoutSaved(List<TransactionEntity> transactions) {
+        Set<String> keys = new HashSet<>();
+        transactions.forEach(transaction -> {
+            if (transaction.getIdempotencyKey() != null) {
+                keys.add(transaction.getIdempotencyKey());
+            }
+        });
+        Set<String> saved = keys.isEmpty() ? new HashSet<>() : idempotencyKeys.findSaved(keys);
+
+        return transactions.stream()
+                .filter(transaction -> transaction.getIdempotencyKey() == null
+                        || (!saved.contains(transaction.getIdempotencyKey()) && saved.add(transaction.getIdempotencyKey())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Only a concurrent save of the same idempotency key is a conflict the client can resolve by retrying;
+     * any other constraint is a server error.
+     */
+    private static boolean violatesIdempotencyKey(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String violated = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (violated != null && violated.toLowerCase(Locale.ROOT).contains(TransactionEntity.IDEMPOTENCY_KEY_INDEX)) {
+                return true;
+            }
         }
+        return false;
     }
 
+    private List<TransactionEntity> fetchDataFromDb(String category, int limit) {
+
+        logger.debug("Fecthing data from DB invoked");
 
-    private List<TransactionEntity> fetchDataFromDb(String category) {
+        List<TransactionEntity> transactions = queryDb(() -> transactionRepo.findLatestByCategory(category, Limit.of(limit)));
 
-        logger.info("Fecthing data from DB invoked");
+        if (!transactions.isEmpty()) {
+            return transactions;
+        } else {
+            throw categoryNotFound(category);
+        }
+    }
 
-        List<TransactionEntity> allTransactions = new ArrayList<>();
+    private boolean categoryExists(String category) {
+        return columnarStore
+                .map(store -> store.containsCategory(category))
+                .orElseGet(() -> queryDb(() -> summaryRepo.existsByIdCategory(category)));
+    }
+
+    private void recordRowsReturned(String query, int rows) {
+        meterRegistry.summary("transaction.rows.returned", "query", query).record(rows);
+    }
 
-        Optional<List<TransactionEntity>> transactions = Optional.of(new ArrayList<TransactionEntity>());
+    private static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
 
+    private <T> T queryDb(Supplier<T> query) {
         try {
-            transactions = transactionRepo.findByCategory(category);
+            T result = query.get();
             logger.debug("Data fetch - Successful");
+            return result;
         }
         catch (Exception exception){
             logger.error("Error fetching data - throws exception");
             throw new DatabaseFetchException("Error fetching transactions from database");
         }
-
-        if (transactions.isPresent() && !transactions.get().isEmpty()) {
-            transactions.get().forEach(allTransactions::add);
-            return allTransactions;
-        } else {
-            logger.error("No transaction found category {} - throws exception", category);
-            throw new TransactionNotFound("No transactions found for the category : " + category);
-        }
     }
 
-    private TransactionEntity mapToEntity(TransactionRequestDto transactionRequestDto) {
-
-        return TransactionEntity.builder()
-                .date(transactionRequestDto.date())
-                .vendor(transactionRequestDto.vendor())
-                .type(TransactionType.valueOf(transactionRequestDto.type().toUpperCase()))
-                .amount(transactionRequestDto.amount())
-                .category(transactionRequestDto.category())
-                .build();
+    private TransactionNotFound yearNotFound(String category, int year) {
+        logger.error("No transaction found for this year category {} in {} - throws exception", category, year);
+        return new TransactionNotFound(String.format("No transactions found for the category: %s in %d", category, year));
     }
 
-    private TransactionDto mapToResponseDto(TransactionEntity transactionEntity){
-
-        logger.info("Entity to Dto Mapping invoked");
-         return TransactionDto.builder()
-                .id(transactionEntity.getId())
-                .date(transactionEntity.getDate())
-                .vendor(transactionEntity.getVendor())
-                .type(String.valueOf(transactionEntity.getType()))
-                .amount(transactionEntity.getAmount())
-                .category(transactionEntity.getCategory())
-                .build();
+    private TransactionNotFound categoryNotFound(String category) {
+        logger.error("No transaction found category {} - throws exception", category);
+        return new TransactionNotFound("No transactions found for the category : " + category);
     }
 
 }
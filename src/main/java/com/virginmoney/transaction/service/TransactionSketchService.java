@@ -0,0 +1,310 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.SpendDistributionDto;
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySketchEntity;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.CategoryMonthlySketchRepo;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.TgtHllType;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.kll.KllLongsSketch;
+import org.apache.datasketches.memory.Memory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the category_monthly_sketch rows and answers percentile and distinct vendor queries from them.
+ * <ul>
+ *     <li>Amounts: KLL with k = 200. Any quantile is within 1.33% of its rank with 99% confidence.
+ *     A sketch serializes to at most 5.7 KB, about 5 KB once a month has a million rows.</li>
+ *     <li>Vendors: HLL_4 with lgK = 12, about 1.6% relative standard error. A sketch serializes to at most
+ *     2.2 KB and to a few bytes per vendor while a month has only a few vendors.</li>
+ * </ul>
+ * Merging months does not add to either error, so a year costs at most twelve rows and about 100 KB of
+ * sketches however many transactions it has.
+ *
+ * accumulate only sketches the saved transactions and queues them per category month once the caller's
+ * transaction commits. Every {@code transaction.sketch.flush-interval} a single thread merges the queue into
+ * the rows, one read-merge-write of each touched month however many saves reached it, so saves neither hold
+ * sketch row locks nor pay for deserializing them. A flush moves the flushed categories' versions on, so the
+ * distribution a client sees may lag a save by one interval. A crash loses at most one interval of updates;
+ * {@code --transaction.summary.rebuild=true} recomputes them.
+ */
+@Service
+public class TransactionSketchService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSketchService.class);
+
+    static final int AMOUNT_SKETCH_K = 200;
+
+    static final int VENDOR_SKETCH_LG_K = 12;
+
+    /**
+     * Standard deviations for the distinct vendor bounds, about 95% confidence.
+     */
+    private static final int VENDOR_BOUND_STD_DEVS = 2;
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final CategoryMonthlySketchRepo sketchRepo;
+
+    private final TransactionRepo transactionRepo;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CategoryVersions categoryVersions;
+
+    private final Duration flushInterval;
+
+    private final Map<CategoryMonthKey, MonthSketches> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("transaction-sketch-flush-"));
+
+    public TransactionSketchService(CategoryMonthlySketchRepo sketchRepo,
+                                    TransactionRepo transactionRepo,
+                                    PlatformTransactionManager transactionManager,
+                                    CategoryVersions categoryVersions,
+                                    @Value("${transaction.sketch.flush-interval:1s}") Duration flushInterval) {
+        this.sketchRepo = sketchRepo;
+        this.transactionRepo = transactionRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryVersions = categoryVersions;
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("Sketch flush still running after {}", SHUTDOWN_TIMEOUT);
+        }
+        flush();
+    }
+
+    /**
+     * Queues the transactions' sketches for the next flush once the save commits, see {@link AfterCommit}.
+     */
+    public void accumulate(List<TransactionEntity> transactions) {
+
+        Map<CategoryMonthKey, MonthSketches> added = new HashMap<>();
+        for (TransactionEntity transaction : transactions) {
+            if (transaction.getCategory() != null && transaction.getDate() != null) {
+                added.computeIfAbsent(monthKey(transaction), ignored -> new MonthSketches()).add(transaction);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+
+        AfterCommit.run(() -> queue(added));
+        logger.debug("Sketches queued for {} category months", added.size());
+    }
+
+    /**
+     * Merges every queued category month into its row in one transaction. The row is inserted empty when
+     * absent and then locked, so a flush never races another writer of the same month. A failed flush
+     * queues its months again for the next one.
+     */
+    public int flush() {
+        Map<CategoryMonthKey, MonthSketches> batch = new HashMap<>();
+        for (CategoryMonthKey key : pending.keySet()) {
+            MonthSketches sketches = pending.remove(key);
+            if (sketches != null) {
+                batch.put(key, sketches);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::mergeIntoRow));
+        }
+        catch (RuntimeException exception) {
+            logger.warn("Sketch flush of {} category months failed, retrying with the next flush", batch.size(), exception);
+            queue(batch);
+            return 0;
+        }
+
+        Set<String> categories = batch.keySet().stream().map(CategoryMonthKey::getCategory).collect(Collectors.toSet());
+        categoryVersions.recordSaved(categories);
+        logger.debug("Sketches flushed for {} category months", batch.size());
+        return batch.size();
+    }
+
+    private void queue(Map<CategoryMonthKey, MonthSketches> sketches) {
+        sketches.forEach((key, added) -> pending.merge(key, added, MonthSketches::merge));
+    }
+
+    private void mergeIntoRow(CategoryMonthKey key, MonthSketches added) {
+        sketchRepo.insertIfAbsent(key.getCategory(), key.getYear(), key.getMonth());
+        CategoryMonthlySketchEntity row = sketchRepo.findForUpdateById(key)
+                .orElseThrow(() -> new IllegalStateException("Sketch row missing after insert: " + key));
+
+        // merged into a copy, so a failed flush queues only what it was given
+        MonthSketches merged = new MonthSketches();
+        merged.merge(row);
+        merged.merge(added);
+        sketchRepo.save(merged.toEntity(key));
+    }
+
+    /**
+     * Recomputes every sketch from the transaction table, streaming it in category order so only one
+     * category's months are held at a time.
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        // the queued transactions are committed, so the stream below counts them
+        pending.clear();
+        sketchRepo.deleteAllInBatch();
+
+        Rebuild rebuild = new Rebuild();
+        transactionRepo.forEachLatest(rebuild);
+        rebuild.saveCategory();
+
+        logger.info("Category monthly sketches rebuilt - {} category months in {} ms", rebuild.saved,
+                System.currentTimeMillis() - start);
+        return rebuild.saved;
+    }
+
+    public boolean isEmpty() {
+        return sketchRepo.count() == 0;
+    }
+
+    /**
+     * Merges the year's monthly sketches; empty when the category has no transactions in that year.
+     */
+    @Transactional(readOnly = true)
+    public Optional<SpendDistributionDto> findDistributionByCategoryAndYear(String category, int year) {
+        List<CategoryMonthlySketchEntity> months = sketchRepo.findByIdCategoryAndIdYear(category, year);
+        if (months.isEmpty()) {
+            return Optional.empty();
+        }
+
+        KllLongsSketch amounts = KllLongsSketch.newHeapInstance(AMOUNT_SKETCH_K);
+        Union vendors = new Union(VENDOR_SKETCH_LG_K);
+        for (CategoryMonthlySketchEntity month : months) {
+            amounts.merge(KllLongsSketch.heapify(Memory.wrap(month.getAmountSketch())));
+            vendors.update(HllSketch.heapify(month.getVendorSketch()));
+        }
+        HllSketch distinctVendors = vendors.getResult();
+
+        return Optional.of(SpendDistributionDto.builder()
+                .transaction_count(amounts.getN())
+                .p50_spend(Money.toDecimal(amounts.getQuantile(0.50)))
+                .p90_spend(Money.toDecimal(amounts.getQuantile(0.90)))
+                .p99_spend(Money.toDecimal(amounts.getQuantile(0.99)))
+                .percentile_rank_error(amounts.getNormalizedRankError(false))
+                .distinct_vendors(Math.round(distinctVendors.getEstimate()))
+                .distinct_vendors_lower_bound((long) Math.floor(distinctVendors.getLowerBound(VENDOR_BOUND_STD_DEVS)))
+                .distinct_vendors_upper_bound((long) Math.ceil(distinctVendors.getUpperBound(VENDOR_BOUND_STD_DEVS)))
+                .build());
+    }
+
+    private static CategoryMonthKey monthKey(TransactionEntity transaction) {
+        LocalDate date = transaction.getDate().toLocalDate();
+        return new CategoryMonthKey(transaction.getCategory(), date.getYear(), date.getMonthValue());
+    }
+
+    /**
+     * Collects the months of the current category and saves them when the stream moves to the next one.
+     */
+    private final class Rebuild implements Consumer<TransactionEntity> {
+
+        private final Map<CategoryMonthKey, MonthSketches> months = new HashMap<>();
+
+        private String category;
+
+        private int saved;
+
+        @Override
+        public void accept(TransactionEntity transaction) {
+            if (transaction.getDate() == null) {
+                return;
+            }
+            if (!transaction.getCategory().equals(category)) {
+                saveCategory();
+                category = transaction.getCategory();
+            }
+            months.computeIfAbsent(monthKey(transaction), ignored -> new MonthSketches()).add(transaction);
+        }
+
+        void saveCategory() {
+            months.forEach((key, sketches) -> sketchRepo.save(sketches.toEntity(key)));
+            saved += months.size();
+            months.clear();
+        }
+    }
+
+    /**
+     * Sketches of the amounts and vendors of one category month.
+     */
+    private static final class MonthSketches {
+
+        private final KllLongsSketch amounts = KllLongsSketch.newHeapInstance(AMOUNT_SKETCH_K);
+
+        private final Union vendors = new Union(VENDOR_SKETCH_LG_K);
+
+        void add(TransactionEntity transaction) {
+            amounts.update(transaction.getAmountMinor());
+            if (transaction.getVendor() != null) {
+                vendors.update(transaction.getVendor());
+            }
+        }
+
+        /**
+         * Adds a stored row; a row just inserted by {@code insertIfAbsent} has empty sketches.
+         */
+        void merge(CategoryMonthlySketchEntity existing) {
+            if (existing.getAmountSketch().length > 0) {
+                amounts.merge(KllLongsSketch.heapify(Memory.wrap(existing.getAmountSketch())));
+            }
+            if (existing.getVendorSketch().length > 0) {
+                vendors.update(HllSketch.heapify(existing.getVendorSketch()));
+            }
+        }
+
+        MonthSketches merge(MonthSketches other) {
+            amounts.merge(other.amounts);
+            vendors.update(other.vendors.getResult(TgtHllType.HLL_4));
+            return this;
+        }
+
+        CategoryMonthlySketchEntity toEntity(CategoryMonthKey key) {
+            return new CategoryMonthlySketchEntity(key, amounts.toByteArray(),
+                    vendors.getResult(TgtHllType.HLL_4).toCompactByteArray());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.virginmoney.transaction.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a whole category as NDJSON, newest first, straight from a JDBC cursor to the response
+ * without building a list. Output is flushed whenever the JSON generator's buffer fills.
+ */
+@Service
+public class TransactionStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStreamService.class);
+
+    private final TransactionRepo transactionRepo;
+
+    private final CategoryMonthlySummaryRepo summaryRepo;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter transactionWriter;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionStreamService(TransactionRepo transactionRepo,
+                                    CategoryMonthlySummaryRepo summaryRepo,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepo = transactionRepo;
+        this.summaryRepo = summaryRepo;
+        this.objectMapper = objectMapper;
+        this.transactionWriter = objectMapper.writerFor(TransactionDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Checks the category exists straight away, so a missing one fails before any output; the rows are
+     * read when the returned writer runs.
+     */
+    public NdjsonWriter streamLatestByCategory(String category) {
+        if (!summaryRepo.existsByIdCategory(category)) {
+            logger.error("No transaction found category {} - throws exception", category);
+            throw new TransactionNotFound("No transactions found for the category : " + category);
+        }
+
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+                readOnlyTransaction.executeWithoutResult(status ->
+                        transactionRepo.forEachLatestByCategory(category, transaction -> {
+                            try {
+                                transactionWriter.writeValue(generator, TransactionMapper.toDto(transaction));
+                                generator.writeRaw('\n');
+                            } catch (IOException exception) {
+                                throw new UncheckedIOException(exception);
+                            }
+                        }));
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface NdjsonWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
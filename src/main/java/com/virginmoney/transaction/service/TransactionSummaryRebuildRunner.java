@@ -0,0 +1,32 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.repo.TransactionRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the category monthly summary at startup when it is empty (first start on an
+ * existing database) or when asked explicitly:
+ * <pre>java -jar transaction.jar --transaction.summary.rebuild=true</pre>
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionSummaryRebuildRunner implements ApplicationRunner {
+
+    private final TransactionSummaryService summaryService;
+
+    private final TransactionRepo transactionRepo;
+
+    @Value("${transaction.summary.rebuild:false}")
+    private boolean rebuild;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (rebuild || (summaryService.isEmpty() && transactionRepo.count() > 0)) {
+            summaryService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySummaryEntity;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the category_monthly_summary rollup and, through {@link TransactionSketchService}, the
+ * category_monthly_sketch rows. accumulate runs inside the caller's transaction so the rollup and the
+ * transaction rows always commit together; the sketches follow shortly after the commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSummaryService.class);
+
+    private final CategoryMonthlySummaryRepo summaryRepo;
+
+    private final TransactionSketchService sketchService;
+
+    @Transactional
+    public void accumulate(List<TransactionEntity> transactions) {
+
+        Map<CategoryMonthKey, MonthDelta> deltas = new HashMap<>();
+        for (TransactionEntity transaction : transactions) {
+            if (transaction.getCategory() != null) {
+                deltas.computeIfAbsent(monthKey(transaction), ignored -> new MonthDelta()).add(transaction.getAmountMinor());
+            }
+        }
+
+        summaryRepo.accumulateAll(deltas.entrySet().stream()
+                .map(delta -> delta.getValue().toSummary(delta.getKey()))
+                .toList());
+
+        logger.debug("Summary accumulated for {} category months", deltas.size());
+
+        sketchService.accumulate(transactions);
+    }
+
+    @Transactional
+    public int rebuild() {
+        logger.info("Rebuilding category monthly summary from transaction table");
+
+        summaryRepo.deleteAllInBatch();
+        int rows = summaryRepo.rebuildFromTransactions();
+
+        logger.info("Category monthly summary rebuilt - {} category months", rows);
+
+        sketchService.rebuild();
+        return rows;
+    }
+
+    /**
+     * True when the summary or the sketches have no rows yet, e.g. on the first start after either table
+     * was added.
+     */
+    public boolean isEmpty() {
+        return summaryRepo.count() == 0 || sketchService.isEmpty();
+    }
+
+    private CategoryMonthKey monthKey(TransactionEntity transaction) {
+        LocalDate date = transaction.getDate().toLocalDate();
+        return new CategoryMonthKey(transaction.getCategory(), date.getYear(), date.getMonthValue());
+    }
+
+    /**
+     * Running count/total/min/max of one category month in minor units; the total fails on overflow
+     * rather than wrapping.
+     */
+    private static final class MonthDelta {
+
+        private long count;
+
+        private long total;
+
+        private long lowest = Long.MAX_VALUE;
+
+        private long highest = Long.MIN_VALUE;
+
+        void add(long amountMinor) {
+            count++;
+            total = Math.addExact(total, amountMinor);
+            lowest = Math.min(lowest, amountMinor);
+            highest = Math.max(highest, amountMinor);
+        }
+
+        CategoryMonthlySummaryEntity toSummary(CategoryMonthKey key) {
+            return new CategoryMonthlySummaryEntity(key, count, total, lowest, highest);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.virginmoney.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.virginmoney.transaction.dto.SaveTicketDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.DuplicateTransactionException;
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+import com.virginmoney.transaction.exception.SaveQueueFullException;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.model.SaveStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind mode of {@code POST /transaction/save}, enabled with {@code transaction.save.async.enabled=true}.
+ * A save is validated, written to the {@link TransactionSaveJournal} and queued, and the request gets 202 with
+ * a ticket straight away. A single writer thread drains the queue, combining queued saves up to
+ * {@code max-batch-size} transactions into one {@link TransactionService#saveTransactions} call, so one
+ * commit covers many requests.
+ *
+ * The queue holds at most {@code capacity} transactions; a save that does not fit gets 429. If a combined
+ * save fails, its requests are saved one by one. A request that still fails with a transient error (see
+ * {@link #isTransient}) is retried with backoff up to {@code max-attempts} times; any other failure marks
+ * its ticket failed and takes it off the journal straight away, so it never holds up the queue. Without a
+ * journal path, queued saves are lost if the process dies.
+ */
+@Service
+@ConditionalOnProperty(name = "transaction.save.async.enabled", havingValue = "true")
+public class TransactionWriteBehindQueue implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionWriteBehindQueue.class);
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(10);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TransactionService transactionService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Optional<TransactionSaveJournal> journal;
+
+    private final int capacity;
+
+    private final int maxBatchSize;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    private final BlockingQueue<PendingSave> queue;
+
+    private final Semaphore freeCapacity;
+
+    private final Cache<String, SaveTicketDto> tickets;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public TransactionWriteBehindQueue(TransactionService transactionService,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${transaction.save.async.capacity:50000}") int capacity,
+                                       @Value("${transaction.save.async.max-batch-size:5000}") int maxBatchSize,
+                                       @Value("${transaction.save.async.max-attempts:10}") int maxAttempts,
+                                       @Value("${transaction.save.async.retry-backoff:100ms}") Duration retryBackoff,
+                                       @Value("${transaction.save.async.ticket-retention:1h}") Duration ticketRetention,
+                                       @Value("${transaction.save.async.journal.path:}") String journalPath) throws IOException {
+        this.transactionService = transactionService;
+        this.meterRegistry = meterRegistry;
+        this.journal = journalPath.isBlank()
+                ? Optional.empty()
+                : Optional.of(new TransactionSaveJournal(Path.of(journalPath), objectMapper));
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(ticketRetention)
+                .build();
+
+        // saves accepted before the last shutdown go first; a backlog over capacity turns saves away until written
+        List<TransactionSaveJournal.Entry> recovered = journal.isPresent() ? journal.get().recover() : List.of();
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, recovered.size()));
+        int recoveredTransactions = 0;
+        for (TransactionSaveJournal.Entry entry : recovered) {
+            putTicket(entry.ticket(), SaveStatus.QUEUED, entry.transactions().size(), null);
+            queue.add(new PendingSave(entry.ticket(), entry.transactions()));
+            recoveredTransactions += entry.transactions().size();
+        }
+        this.freeCapacity = new Semaphore(capacity - recoveredTransactions);
+
+        this.writer = new CustomizableThreadFactory("transaction-write-behind-").newThread(this::drain);
+
+        Gauge.builder("transaction.save.async.queued", freeCapacity, free -> capacity - free.availablePermits())
+                .description("Transactions accepted but not yet saved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the writer once the rest of the context, including the transaction service, is ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        writer.start();
+    }
+
+    public SaveTicketDto enqueue(List<TransactionRequestDto> transactionRequests) {
+        if (transactionRequests.isEmpty()) {
+            throw new InvalidTransactionException("At least one transaction is required");
+        }
+        if (transactionRequests.size() > capacity) {
+            throw new InvalidTransactionException("At most " + capacity + " transactions are allowed per save");
+        }
+        transactionRequests.forEach(TransactionMapper::validate);
+
+        if (!running || !freeCapacity.tryAcquire(transactionRequests.size())) {
+            meterRegistry.counter("transaction.save.async.rejected").increment();
+            logger.warn("Save queue full - rejected {} transactions", transactionRequests.size());
+            throw new SaveQueueFullException("Save queue is full, please retry");
+        }
+
+        String ticket = UUID.randomUUID().toString();
+        transactionRequests = withReplayKeys(ticket, transactionRequests);
+        try {
+            if (journal.isPresent()) {
+                journal.get().append(ticket, transactionRequests);
+            }
+        }
+        catch (IOException exception) {
+            freeCapacity.release(transactionRequests.size());
+            logger.error("Error writing save journal - throws exception", exception);
+            throw new DatabaseFetchException("Error storing transactions to journal");
+        }
+
+        SaveTicketDto accepted = putTicket(ticket, SaveStatus.QUEUED, transactionRequests.size(), null);
+        queue.add(new PendingSave(ticket, transactionRequests));
+
+        logger.debug("Queued Ticket: {}, Transactions: {}", ticket, transactionRequests.size());
+
+        return accepted;
+    }
+
+    /**
+     * Gives each keyless transaction a key unique to this ticket, so replaying a journaled save that had
+     * already committed skips its rows instead of saving them twice.
+     */
+    private static List<TransactionRequestDto> withReplayKeys(String ticket, List<TransactionRequestDto> transactionRequests) {
+        List<TransactionRequestDto> keyed = new ArrayList<>(transactionRequests.size());
+        for (int index = 0; index < transactionRequests.size(); index++) {
+            TransactionRequestDto request = transactionRequests.get(index);
+            boolean keyless = request.idempotencyKey() == null || request.idempotencyKey().isBlank();
+            keyed.add(keyless ? request.withIdempotencyKey("write-behind:" + ticket + ":" + index) : request);
+        }
+        return keyed;
+    }
+
+    public SaveTicketDto getTicket(String ticket) {
+        SaveTicketDto status = tickets.getIfPresent(ticket);
+        if (status == null) {
+            logger.error("No save ticket found {} - throws exception", ticket);
+            throw new TransactionNotFound("No save ticket found : " + ticket);
+        }
+        return status;
+    }
+
+    /**
+     * Stops taking saves and gives the writer up to {@link #SHUTDOWN_TIMEOUT} to empty the queue; anything
+     * left is still in the journal for the next start.
+     */
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+            writer.interrupt();
+            writer.join();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Write-behind stopped with {} saves still queued", queue.size());
+        }
+        if (journal.isPresent()) {
+            journal.get().close();
+        }
+    }
+
+    private void drain() {
+        List<PendingSave> group = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingSave first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                int size = first.transactions().size();
+                // the only consumer, so the peeked save is the one polled
+                PendingSave next;
+                while ((next = queue.peek()) != null && size + next.transactions().size() <= maxBatchSize) {
+                    group.add(queue.poll());
+                    size += next.transactions().size();
+                }
+
+                write(group);
+                group.clear();
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Write-behind writer stopped");
+    }
+
+    private void write(List<PendingSave> group) throws InterruptedException {
+        if (group.size() > 1) {
+            try {
+                save(group);
+                return;
+            }
+            catch (RuntimeException exception) {
+                logger.warn("Combined save of {} requests failed - saving them one by one", group.size());
+            }
+        }
+        for (PendingSave save : group) {
+            saveWithRetry(save);
+        }
+    }
+
+    private void saveWithRetry(PendingSave save) throws InterruptedException {
+        Duration backoff = retryBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                save(List.of(save));
+                return;
+            }
+            catch (RuntimeException exception) {
+                if (!isTransient(exception)) {
+                    logger.error("Save {} failed - not retrying", save.ticket(), exception);
+                    complete(save, SaveStatus.FAILED, exception.getMessage());
+                    return;
+                }
+                if (attempt >= maxAttempts) {
+                    logger.error("Save {} failed after {} attempts - giving up", save.ticket(), attempt, exception);
+                    complete(save, SaveStatus.FAILED, exception.getMessage());
+                    return;
+                }
+                logger.warn("Save {} failed on attempt {} - retrying in {} ms", save.ticket(), attempt, backoff.toMillis());
+            }
+            Thread.sleep(backoff.toMillis());
+            Duration doubled = backoff.multipliedBy(2);
+            backoff = doubled.compareTo(MAX_RETRY_BACKOFF) < 0 ? doubled : MAX_RETRY_BACKOFF;
+        }
+    }
+
+    /**
+     * A failure a later attempt may not hit: a lock or query timeout, no connection available, a full DB
+     * bulkhead, or the same idempotency key committed concurrently, which the retry then skips. Anything else,
+     * such as a constraint or mapping error, fails the same way every time.
+     */
+    static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof DatabaseBusyException
+                    || cause instanceof DuplicateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void save(List<PendingSave> group) {
+        List<TransactionRequestDto> transactions = new ArrayList<>();
+        group.forEach(save -> transactions.addAll(save.transactions()));
+
+        transactionService.saveTransactions(transactions);
+        meterRegistry.summary("transaction.save.async.group.size").record(transactions.size());
+
+        group.forEach(save -> complete(save, SaveStatus.SAVED, null));
+    }
+
+    private void complete(PendingSave save, SaveStatus status, String error) {
+        // journal first, so a client that sees the final status never finds the save still journaled
+        try {
+            if (journal.isPresent()) {
+                journal.get().complete(save.ticket());
+            }
+        }
+        catch (IOException exception) {
+            logger.error("Error marking save {} done in the journal - it will be saved again on restart", save.ticket(), exception);
+        }
+        putTicket(save.ticket(), status, save.transactions().size(), error);
+        freeCapacity.release(save.transactions().size());
+    }
+
+    private SaveTicketDto putTicket(String ticket, SaveStatus status, int transactions, String error) {
+        SaveTicketDto dto = SaveTicketDto.builder()
+                .ticket(ticket)
+                .status(status)
+                .transactions(transactions)
+                .error(error)
+                .build();
+        tickets.put(ticket, dto);
+        return dto;
+    }
+
+    private record PendingSave(String ticket, List<TransactionRequestDto> transactions) {
+    }
+}
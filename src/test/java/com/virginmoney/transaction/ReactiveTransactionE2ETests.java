@@ -0,0 +1,160 @@
+package com.virginmoney.transaction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.model.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest(properties = {
+		"spring.main.web-application-type=reactive",
+		"spring.datasource.url=jdbc:h2:mem:reactive-transactions;DB_CLOSE_DELAY=-1",
+		"spring.r2dbc.url=r2dbc:h2:mem:///reactive-transactions"
+})
+@ActiveProfiles({"reactive", "test"})
+@AutoConfigureWebTestClient
+class ReactiveTransactionE2ETests {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void getLatestByCategory_ReactiveStack_shouldReturnTransactionData() {
+		List<TransactionDto> resultData = webTestClient.get().uri("/transaction/MyMonthlyDD?limit=2")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(TransactionDto.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertAll(
+				() -> assertThat(resultData).extracting(TransactionDto::id).containsExactly(5L, 52L),
+				() -> assertThat(resultData.get(0))
+						.extracting("amount", "vendor", "category")
+						.contains(new BigDecimal("600.00"), "CYBG", "MyMonthlyDD")
+		);
+	}
+
+	@Test
+	void getLatestByCategory_ReactiveStack_SmileAccepted_shouldReturnTransactionsInSmile() throws Exception {
+		byte[] response = webTestClient.get().uri("/transaction/MyMonthlyDD?limit=2")
+				.accept(SMILE)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(SMILE)
+				.expectBody(byte[].class)
+				.returnResult()
+				.getResponseBody();
+
+		JsonNode resultData = new SmileMapper().readTree(response);
+
+		assertAll(
+				() -> assertThat(resultData.findValuesAsText("id")).containsExactly("5", "52"),
+				() -> assertThat(resultData.get(0).get("date").asText()).isEqualTo("28/Oct/2021")
+		);
+	}
+
+	@Test
+	void streamByCategory_ReactiveStack_shouldWriteOneJsonLinePerTransaction() {
+		List<TransactionDto> resultData = webTestClient.get().uri("/transaction/MyMonthlyDD/stream")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(TransactionDto.class)
+				.getResponseBody()
+				.collectList()
+				.block();
+
+		assertAll(
+				() -> assertThat(resultData).hasSize(3),
+				() -> assertThat(resultData.get(0).id()).isEqualTo(5L)
+		);
+	}
+
+	@Test
+	void getTotalSpendByCategory_ReactiveStack_shouldReturnTotalSpend() {
+		webTestClient.get().uri("/transaction/totalspend/MyMonthlyDD")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo("1240.00");
+	}
+
+	@Test
+	void getTotalSpendByCategory_ReactiveStack_CurrentETag_shouldReturnNotModified() {
+		String etag = webTestClient.get().uri("/transaction/totalspend/MyMonthlyDD")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().cacheControl(CacheControl.noCache())
+				.returnResult(String.class)
+				.getResponseHeaders()
+				.getETag();
+
+		webTestClient.get().uri("/transaction/totalspend/MyMonthlyDD")
+				.ifNoneMatch(etag)
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+				.expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+				.expectBody().isEmpty();
+	}
+
+	@Test
+	void getYearlyStatisticsByCategory_ReactiveStack_shouldReturnStatistics() {
+		StatisticsDto resultData = webTestClient.get().uri("/transaction/yearlyStatistics/MyMonthlyDD?year=2020")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(StatisticsDto.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertAll(
+				() -> assertThat(resultData.highest_spend()).isEqualByComparingTo("600"),
+				() -> assertThat(resultData.lowest_spend()).isEqualByComparingTo("40"),
+				() -> assertThat(resultData.average_spend()).isEqualByComparingTo("320")
+		);
+	}
+
+	@Test
+	void getYearlyStatisticsByCategory_ReactiveStack_NoTransactionForGivenYear_shouldReturnErrorResponse() {
+		ErrorResponse error = webTestClient.get().uri("/transaction/yearlyStatistics/MyMonthlyDD?year=2022")
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectBody(ErrorResponse.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertThat(error.message()).isEqualTo("No transactions found for the category: MyMonthlyDD in 2022");
+	}
+
+	@Test
+	void streamByCategory_ReactiveStack_CategoryNotFound_shouldReturnErrorResponse() {
+		ErrorResponse error = webTestClient.get().uri("/transaction/vacation/stream")
+				.exchange()
+				.expectStatus().isNotFound()
+				.expectBody(ErrorResponse.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertAll(
+				() -> assertThat(error.status()).isEqualTo(404),
+				() -> assertThat(error.message()).isEqualTo("No transactions found for the category : vacation")
+		);
+	}
+}
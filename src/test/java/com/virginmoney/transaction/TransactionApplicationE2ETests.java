@@ -1,25 +1,42 @@
 package com.virginmoney.transaction;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.virginmoney.transaction.dto.BatchResultDto;
+import com.virginmoney.transaction.dto.SpendDistributionDto;
 import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionColumnsDto;
 import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionPageDto;
 import com.virginmoney.transaction.model.ErrorResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 class TransactionE2EApplicationTests {
 
@@ -32,7 +49,7 @@ class TransactionE2EApplicationTests {
 
 	@Test
 	void getLatestByCategory_EndToEndSucccess_shouldReturnTransactionData() throws Exception {
-		String response = mockMvc.perform(get("/transaction/MyMonthlyDD"))
+		String response = mockMvc.perform(get("/transaction/MyMonthlyDD").param("limit", "2"))
 				.andExpect(status().isOk())
 				.andReturn()
 				.getResponse()
@@ -42,13 +59,54 @@ class TransactionE2EApplicationTests {
 
 		assertAll(
 				() -> assertThat(resultData).isNotNull(),
+				() -> assertThat(resultData).extracting(TransactionDto::id).containsExactly(5L, 52L),
 				() -> assertThat(resultData.get(0))
 						.extracting("id", "amount", "vendor", "category")
-						.contains(1L, 40.0, "PureGym", "MyMonthlyDD")
+						.contains(5L, new BigDecimal("600.00"), "CYBG", "MyMonthlyDD")
 
 		);
 	}
 
+	@Test
+	void getLatestByCategory_CborAccepted_shouldReturnTheJsonTransactionsInCbor() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(get("/transaction/MyMonthlyDD").param("limit", "2")
+						.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse();
+
+		JsonNode resultData = new CBORMapper().readTree(response.getContentAsByteArray());
+
+		assertAll(
+				() -> assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE),
+				() -> assertThat(response.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT),
+				() -> assertThat(resultData.findValuesAsText("id")).containsExactly("5", "52"),
+				() -> assertThat(resultData.get(0).get("date").asText()).isEqualTo("28/Oct/2021"),
+				() -> assertThat(resultData.get(0).get("vendor").asText()).isEqualTo("CYBG")
+		);
+	}
+
+	@Test
+	void getLatestByCategory_ColumnsAccepted_shouldSendTheCategoryOnce() throws Exception {
+		String response = mockMvc.perform(get("/transaction/MyMonthlyDD").param("limit", "2")
+						.accept(TransactionColumnsDto.MEDIA_TYPE))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(TransactionColumnsDto.MEDIA_TYPE))
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		TransactionColumnsDto resultData = objectMapper.readValue(response, TransactionColumnsDto.class);
+
+		assertAll(
+				() -> assertThat(resultData.category()).isEqualTo("MyMonthlyDD"),
+				() -> assertThat(resultData.id()).containsExactly(5L, 52L),
+				() -> assertThat(resultData.vendor().get(0)).isEqualTo("CYBG"),
+				() -> assertThat(resultData.amount().get(0)).isEqualByComparingTo("600"),
+				() -> assertThat(response).contains("\"28/Oct/2021\"").containsOnlyOnce("MyMonthlyDD")
+		);
+	}
+
 	@Test
 	void getLatestByCategory_CategoryNotFound_shouldReturnErrorResponse() throws Exception {
 		String response = mockMvc.perform(get("/transaction/vacation"))
@@ -65,6 +123,70 @@ class TransactionE2EApplicationTests {
 		);
 	}
 
+	@Test
+	void getPageByCategory_EndToEndSuccess_shouldPageNewestFirstWithCursor() throws Exception {
+		String firstResponse = mockMvc.perform(get("/transaction/MyMonthlyDD/page").param("limit", "2"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		TransactionPageDto firstPage = objectMapper.readValue(firstResponse, TransactionPageDto.class);
+
+		String secondResponse = mockMvc.perform(get("/transaction/MyMonthlyDD/page")
+						.param("limit", "2")
+						.param("cursor", firstPage.nextCursor()))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		TransactionPageDto secondPage = objectMapper.readValue(secondResponse, TransactionPageDto.class);
+
+		assertAll(
+				() -> assertThat(firstPage.transactions()).extracting(TransactionDto::id).containsExactly(5L, 52L),
+				() -> assertThat(firstPage.nextCursor()).isNotNull(),
+				() -> assertThat(secondPage.transactions()).extracting(TransactionDto::id).containsExactly(1L),
+				() -> assertThat(secondPage.nextCursor()).isNull()
+		);
+	}
+
+	@Test
+	void getPageByCategory_InvalidCursor_shouldReturnErrorResponse() throws Exception {
+		String response = mockMvc.perform(get("/transaction/MyMonthlyDD/page").param("cursor", "%%%"))
+				.andExpect(status().isBadRequest())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		ErrorResponse error = objectMapper.readValue(response, new TypeReference<ErrorResponse>() {});
+
+		assertAll(
+				() -> assertThat(error.status()).isEqualTo(400),
+				() -> assertThat(error.message()).isEqualTo("Invalid cursor : %%%")
+		);
+	}
+
+	@Test
+	void streamByCategory_EndToEndSuccess_shouldWriteOneJsonLinePerTransaction() throws Exception {
+		MvcResult asyncResult = mockMvc.perform(get("/transaction/MyMonthlyDD/stream"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String response = mockMvc.perform(asyncDispatch(asyncResult))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		List<String> lines = response.lines().toList();
+
+		assertAll(
+				() -> assertThat(lines).hasSize(3),
+				() -> assertThat(objectMapper.readValue(lines.get(0), TransactionDto.class).id()).isEqualTo(5L)
+		);
+	}
+
 	@Test
 	void getTotalSpendByCategory_EndToEndSuccess_shouldReturnTotalSpend() throws Exception {
 
@@ -74,11 +196,12 @@ class TransactionE2EApplicationTests {
 				.getResponse()
 				.getContentAsString();
 
-		Double resultData = objectMapper.readValue(response, Double.class);
+		BigDecimal resultData = objectMapper.readValue(response, BigDecimal.class);
 
 		assertAll(
 				() -> assertThat(resultData).isNotNull(),
-				() -> assertThat(resultData).isEqualTo(1240.0));
+				() -> assertThat(response).isEqualTo("1240.00"),
+				() -> assertThat(resultData).isEqualByComparingTo("1240"));
 
 	}
 
@@ -109,11 +232,36 @@ class TransactionE2EApplicationTests {
 				.getResponse()
 				.getContentAsString();
 
-		Map<String, Double> resultdata = objectMapper.readValue(response, new TypeReference<Map<String, Double>>() {});
+		Map<String, BigDecimal> resultdata = objectMapper.readValue(response, new TypeReference<Map<String, BigDecimal>>() {});
 
 		assertAll(
 				() -> assertThat(resultdata.size()).isEqualTo(2),
-				() -> assertThat(resultdata.get("OCTOBER_2021")).isEqualTo(600.0)
+				() -> assertThat(resultdata.get("OCTOBER_2021")).isEqualByComparingTo("600")
+		);
+	}
+
+	@Test
+	void getMonthlyAverageByCategory_CurrentETag_shouldReturnNotModifiedWithoutBody() throws Exception {
+		MockHttpServletResponse first = mockMvc.perform(get("/transaction/monthlyAverage/MyMonthlyDD"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse();
+		String etag = first.getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse revalidated = mockMvc.perform(get("/transaction/monthlyAverage/MyMonthlyDD")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andReturn()
+				.getResponse();
+
+		assertAll(
+				() -> assertThat(etag).startsWith("W/\"").endsWith("\""),
+				() -> assertThat(first.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT),
+				() -> assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull(),
+				() -> assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache"),
+				() -> assertThat(revalidated.getHeader(HttpHeaders.ETAG)).isEqualTo(etag),
+				() -> assertThat(revalidated.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT),
+				() -> assertThat(revalidated.getContentAsString()).isEmpty()
 		);
 	}
 
@@ -149,9 +297,9 @@ class TransactionE2EApplicationTests {
 
 		assertAll(
 				() -> assertThat(resultData).isNotNull(),
-				() -> assertThat(resultData.highest_spend()).isEqualTo(600),
-				() -> assertThat(resultData.lowest_spend()).isEqualTo(40),
-				() -> assertThat(resultData.average_spend()).isEqualTo(320)
+				() -> assertThat(resultData.highest_spend()).isEqualByComparingTo("600"),
+				() -> assertThat(resultData.lowest_spend()).isEqualByComparingTo("40"),
+				() -> assertThat(resultData.average_spend()).isEqualByComparingTo("320")
 		);
 
 	}
@@ -191,4 +339,88 @@ class TransactionE2EApplicationTests {
 		);
 
 	}
+
+	@Test
+	void getYearlyDistributionByCategory_EndToEnd_shouldReturnSketchDistribution() throws Exception {
+		String response = mockMvc.perform(get("/transaction/yearlyDistribution/MyMonthlyDD")
+						.param("year", String.valueOf(2020)))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		SpendDistributionDto resultData = objectMapper.readValue(response, SpendDistributionDto.class);
+
+		assertAll(
+				() -> assertThat(resultData.transaction_count()).isEqualTo(2),
+				() -> assertThat(resultData.p50_spend()).isEqualByComparingTo("40"),
+				() -> assertThat(resultData.p99_spend()).isEqualByComparingTo("600"),
+				() -> assertThat(resultData.distinct_vendors()).isEqualTo(2)
+		);
+	}
+
+	@Test
+	void query_GroupByCategoryAndYear_shouldReturnAllMetricsInOneResponse() throws Exception {
+		String request = """
+				{"categories": ["MyMonthlyDD", "Groceries"], "from": "01/Jan/2020", "to": "31/Dec/2021",
+				 "groupBy": ["category", "year"], "metrics": ["count", "sum", "avg", "min", "max", "p50"]}
+				""";
+
+		String response = mockMvc.perform(post("/transaction/query")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(request))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		JsonNode rows = objectMapper.readTree(response).get("rows");
+
+		assertAll(
+				() -> assertThat(rows).hasSize(3),
+				() -> assertThat(response).contains(
+						"{\"category\":\"Groceries\",\"year\":2020,\"count\":2,\"sum\":16.39,\"avg\":8.20,\"min\":5.99,\"max\":10.40,\"p50\":8.20}"),
+				() -> assertThat(response).contains(
+						"{\"category\":\"MyMonthlyDD\",\"year\":2020,\"count\":2,\"sum\":640.00,\"avg\":320.00,\"min\":40.00,\"max\":600.00,\"p50\":320.00}"),
+				() -> assertThat(rows.get(2).get("year").asInt()).isEqualTo(2021)
+		);
+	}
+
+	@Test
+	void query_UnknownMetric_shouldReturnErrorResponse() throws Exception {
+		String response = mockMvc.perform(post("/transaction/query")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"metrics\": [\"median\"]}"))
+				.andExpect(status().isBadRequest())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		ErrorResponse error = objectMapper.readValue(response, new TypeReference<ErrorResponse>() {});
+
+		assertAll(
+				() -> assertThat(error.status()).isEqualTo(400),
+				() -> assertThat(error.message()).startsWith("Unknown metric : median")
+		);
+	}
+
+	@Test
+	void getTotalSpendByCategories_OneCategoryNotFound_shouldReturnPartialResults() throws Exception {
+		String response = mockMvc.perform(get("/transaction/batch/totalspend")
+						.param("categories", "MyMonthlyDD,vacation,Groceries"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		BatchResultDto<BigDecimal> resultData = objectMapper.readValue(response, new TypeReference<BatchResultDto<BigDecimal>>() {});
+
+		assertAll(
+				() -> assertThat(resultData.results()).containsOnlyKeys("MyMonthlyDD", "Groceries"),
+				() -> assertThat(resultData.results().get("MyMonthlyDD")).isEqualByComparingTo("1240"),
+				() -> assertThat(resultData.results().get("Groceries")).isEqualByComparingTo("16.39"),
+				() -> assertThat(resultData.errors()).containsOnlyKeys("vacation"),
+				() -> assertThat(resultData.errors().get("vacation").status()).isEqualTo(404)
+		);
+	}
 }
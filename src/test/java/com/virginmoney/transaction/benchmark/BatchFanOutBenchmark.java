@@ -0,0 +1,86 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.virginmoney.transaction.TransactionApplication;
+import com.virginmoney.transaction.service.TransactionBatchService;
+import com.virginmoney.transaction.service.TransactionService;
+import com.virginmoney.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A report over every benchmark category - total spend, monthly averages and yearly statistics - made as
+ * serial per-category calls against the batch fan-out, with the cache off and a simulated slow database so
+ * each call pays a realistic round trip.
+ *
+ * Tunables (system properties):
+ *   benchmark.rows         seeded rows (default 100000)
+ *   benchmark.db-latency   added per statement while holding a connection (default 5ms)
+ *   benchmark.parallelism  batch pool size and connection pool size (default 10)
+ *
+ * mvn test -Pbenchmark -Dtest=BatchFanOutBenchmark
+ */
+@Tag("benchmark")
+class BatchFanOutBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    private static final Duration DB_LATENCY = Duration.parse("PT" + System.getProperty("benchmark.db-latency", "0.005s"));
+
+    private static final int PARALLELISM = Integer.getInteger("benchmark.parallelism", 10);
+
+    private static final int YEAR = 2020;
+
+    private static final List<String> CATEGORIES = List.of(BenchmarkData.CATEGORIES);
+
+    @Test
+    void serialCallsVersusBatchFanOut() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TransactionApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new SlowDatabase(DB_LATENCY)))
+                .run("--spring.datasource.url=jdbc:h2:mem:batch-fan-out;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.hikari.maximum-pool-size=" + PARALLELISM,
+                        "--transaction.cache.enabled=false",
+                        "--logging.level.com.virginmoney.transaction=WARN",
+                        "--logging.level.org.springframework.web=WARN")) {
+            BenchmarkData.seed(context.getBean(JdbcTemplate.class), ROWS);
+            context.getBean(TransactionSummaryService.class).rebuild();
+
+            TransactionService transactionService = context.getBean(TransactionService.class);
+            TransactionBatchService batchService = context.getBean(TransactionBatchService.class);
+
+            Latency serial = Latency.measure("serial per-category calls", 2, 10, () -> {
+                for (String category : CATEGORIES) {
+                    transactionService.getTotalSpendByCategory(category);
+                    transactionService.getMonthlyAverageByCategory(category);
+                    transactionService.getYearlyStatisticsByCategory(category, YEAR);
+                }
+            });
+
+            Latency batch = Latency.measure("batch fan-out", 2, 10, () -> {
+                batchService.getTotalSpendByCategories(CATEGORIES);
+                batchService.getMonthlyAverageByCategories(CATEGORIES);
+                batchService.getYearlyStatisticsByCategories(CATEGORIES, YEAR);
+            });
+
+            System.out.printf("%nBatch fan-out benchmark - %,d rows, %d categories x 3 reads, %s per statement, parallelism %d%n",
+                    ROWS, CATEGORIES.size(), DB_LATENCY, PARALLELISM);
+            System.out.println(serial);
+            System.out.println(batch);
+            System.out.printf("Speedup (p50): %.1fx%n", serial.p50() / batch.p50());
+
+            assertThat(batch.p50()).isLessThan(serial.p50());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.virginmoney.transaction.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the transaction table straight through JDBC so benchmarks can start from
+ * a realistically sized table without paying for the JPA save path.
+ */
+final class BenchmarkData {
+
+    static final String[] CATEGORIES = {"Groceries", "Utilities", "MyMonthlyDD", "Travel", "Dining",
+            "Fuel", "Entertainment", "Clothing", "Health", "Insurance",
+            "Gifts", "Education", "Subscriptions", "Home", "Pets",
+            "Charity", "Transport", "Savings", "Electronics", "Holidays"};
+
+    static final String[] VENDORS = {"Morrisons", "M&S", "ALDI", "Tesco", "CYBG", "PureGym", "McMillan",
+            "Amazon", "Shell", "Trainline"};
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+
+    static final int DAYS = 10 * 365;
+
+    private static final int INSERT_BATCH = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+
+        for (int id = 1; id <= rows; id++) {
+            batch.add(new Object[]{
+                    id,
+                    Date.valueOf(FIRST_DAY.plusDays(random.nextInt(DAYS))),
+                    VENDORS[random.nextInt(VENDORS.length)],
+                    random.nextInt(4),
+                    Math.round(random.nextDouble(1, 500) * 100.0),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]});
+
+            if (batch.size() == INSERT_BATCH) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (?, ?, ?, ?, ?, 'GBP', ?)",
+                batch);
+    }
+}
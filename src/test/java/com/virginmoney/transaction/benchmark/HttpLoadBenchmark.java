@@ -0,0 +1,83 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test through the real HTTP stack against a seeded H2 file database.
+ *
+ * Tunables (system properties):
+ *   loadtest.url       database URL (default jdbc:h2:file:./target/loadtest/transactions)
+ *   loadtest.rows      seeded rows; the table is reseeded when its size differs (default 200000)
+ *   loadtest.threads   concurrent clients (default 16)
+ *   loadtest.warmup    warm-up before measuring (default 10s)
+ *   loadtest.duration  measured window (default 30s)
+ *   loadtest.mix       endpoint weights (default latest:40,totalspend:20,monthlyAverage:15,yearlyStatistics:20,save:5)
+ *
+ * mvn test -Pbenchmark -Dtest=HttpLoadBenchmark -Dloadtest.threads=32
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${loadtest.url:jdbc:h2:file:./target/loadtest/transactions}",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.virginmoney.transaction=WARN",
+        "logging.level.org.springframework.web=WARN"})
+class HttpLoadBenchmark {
+
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 200_000);
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 16);
+
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+
+    private static final String MIX = System.getProperty("loadtest.mix", HttpLoadDriver.DEFAULT_MIX);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionSummaryService summaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction", Long.class);
+        if (rows == null || rows != ROWS) {
+            jdbcTemplate.execute("TRUNCATE TABLE transaction");
+            LoadTestData.seed(jdbcTemplate, ROWS);
+            summaryService.rebuild();
+            // keep ids handed out by the pooled sequence clear of the seeded ones
+            jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH " + (ROWS + 100));
+        }
+    }
+
+    @Test
+    void loadTest_mixedEndpoints() throws Exception {
+        HttpLoadDriver.Report report = new HttpLoadDriver(port, objectMapper).run(MIX, THREADS, WARMUP, DURATION);
+
+        System.out.printf("%nHTTP load test - %,d rows, %d clients, %s warm-up, %s measured, mix %s%n%s",
+                ROWS, THREADS, WARMUP, DURATION, MIX, report);
+
+        assertThat(report.overall().latency().samples()).isPositive();
+    }
+}
@@ -0,0 +1,223 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for the five TransactionController endpoints: each client thread sends
+ * its next request as soon as the previous one completes, picking the endpoint from a weighted mix and the
+ * category from the skewed {@link LoadTestData} distribution.
+ */
+final class HttpLoadDriver {
+
+    static final String DEFAULT_MIX = "latest:40,totalspend:20,monthlyAverage:15,yearlyStatistics:20,save:5";
+
+    private static final int SAVE_REQUEST_SIZE = 10;
+
+    private enum Endpoint { LATEST, TOTALSPEND, MONTHLYAVERAGE, YEARLYSTATISTICS, SAVE }
+
+    private final String baseUri;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    HttpLoadDriver(int port, ObjectMapper objectMapper) {
+        this.baseUri = "http://localhost:" + port + "/transaction";
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs {@code threads} clients for {@code warmup + duration} and returns the requests completed in the
+     * measured window.
+     */
+    Report run(String mix, int threads, Duration warmup, Duration duration) throws Exception {
+        Map<Endpoint, Integer> weights = parseMix(mix);
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        List<Future<Recorder>> results = new ArrayList<>();
+        for (int client = 0; client < threads; client++) {
+            long seed = client;
+            results.add(clients.submit(() -> drive(new LoadTestData(seed), weights, totalWeight, measureFrom, measureTo)));
+        }
+
+        Recorder total = new Recorder();
+        for (Future<Recorder> result : results) {
+            total.merge(result.get());
+        }
+        clients.shutdown();
+
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        List<Row> rows = new ArrayList<>();
+        List<long[]> all = new ArrayList<>();
+        long errors = 0;
+        for (Endpoint endpoint : weights.keySet()) {
+            long[] nanos = total.samples(endpoint);
+            long endpointErrors = total.errors.getOrDefault(endpoint, 0L);
+            rows.add(new Row(Latency.of(endpoint.name(), nanos), nanos.length / seconds, endpointErrors));
+            all.add(nanos);
+            errors += endpointErrors;
+        }
+        long[] combined = all.stream().flatMapToLong(Arrays::stream).toArray();
+        rows.add(new Row(Latency.of("ALL", combined), combined.length / seconds, errors));
+        return new Report(rows);
+    }
+
+    private Recorder drive(LoadTestData data, Map<Endpoint, Integer> weights, int totalWeight,
+                           long measureFrom, long measureTo) throws Exception {
+        Recorder recorder = new Recorder();
+        while (true) {
+            Endpoint endpoint = pick(data, weights, totalWeight);
+            HttpRequest request = request(endpoint, data);
+
+            long start = System.nanoTime();
+            if (start >= measureTo) {
+                return recorder;
+            }
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+
+            if (start >= measureFrom) {
+                recorder.record(endpoint, elapsed, response.statusCode() >= 400);
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, LoadTestData data) throws Exception {
+        String category = BenchmarkData.CATEGORIES[data.category()];
+        return switch (endpoint) {
+            case LATEST -> get(baseUri + "/" + category);
+            case TOTALSPEND -> get(baseUri + "/totalspend/" + category);
+            case MONTHLYAVERAGE -> get(baseUri + "/monthlyAverage/" + category);
+            case YEARLYSTATISTICS -> get(baseUri + "/yearlyStatistics/" + category + "?year="
+                    + (LoadTestData.FIRST_DAY.getYear() + 1 + data.nextInt(5)));
+            case SAVE -> HttpRequest.newBuilder(URI.create(baseUri + "/save"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(saveRequest(data))))
+                    .build();
+        };
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static List<TransactionRequestDto> saveRequest(LoadTestData data) {
+        List<TransactionRequestDto> transactions = new ArrayList<>(SAVE_REQUEST_SIZE);
+        for (int i = 0; i < SAVE_REQUEST_SIZE; i++) {
+            int category = data.category();
+            transactions.add(new TransactionRequestDto(data.date().toLocalDate(), data.vendor(category),
+                    TransactionType.values()[data.type()].name().toLowerCase(), Money.toDecimal(data.amountMinor(category)),
+                    BenchmarkData.CATEGORIES[category]));
+        }
+        return transactions;
+    }
+
+    private static Endpoint pick(LoadTestData data, Map<Endpoint, Integer> weights, int totalWeight) {
+        int target = data.nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : weights.entrySet()) {
+            target -= entry.getValue();
+            if (target < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty endpoint mix");
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        return weights;
+    }
+
+    record Row(Latency latency, double requestsPerSecond, long errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%s  %,10.1f req/s  errors=%d", latency, requestsPerSecond, errors);
+        }
+    }
+
+    record Report(List<Row> rows) {
+
+        Row overall() {
+            return rows.get(rows.size() - 1);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            rows.forEach(row -> report.append(row).append(System.lineSeparator()));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Per-client latency samples; merged once the clients finish, so recording needs no locking.
+     */
+    private static final class Recorder {
+
+        private final Map<Endpoint, long[]> samples = new EnumMap<>(Endpoint.class);
+
+        private final Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+
+        private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+
+        void record(Endpoint endpoint, long nanos, boolean error) {
+            long[] buffer = samples.computeIfAbsent(endpoint, ignored -> new long[1024]);
+            int count = counts.getOrDefault(endpoint, 0);
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+                samples.put(endpoint, buffer);
+            }
+            buffer[count] = nanos;
+            counts.put(endpoint, count + 1);
+            if (error) {
+                errors.merge(endpoint, 1L, Long::sum);
+            }
+        }
+
+        long[] samples(Endpoint endpoint) {
+            return Arrays.copyOf(samples.getOrDefault(endpoint, new long[0]), counts.getOrDefault(endpoint, 0));
+        }
+
+        void merge(Recorder other) {
+            for (Endpoint endpoint : other.counts.keySet()) {
+                for (long nanos : other.samples(endpoint)) {
+                    record(endpoint, nanos, false);
+                }
+            }
+            other.errors.forEach((endpoint, count) -> errors.merge(endpoint, count, Long::sum));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.virginmoney.transaction.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Wall-clock latency summary of a repeatedly executed action, in milliseconds.
+ */
+record Latency(String name, int samples, double mean, double p50, double p99, double p999) {
+
+    static Latency measure(String name, int warmup, int iterations, Runnable action) {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        return of(name, nanos);
+    }
+
+    static Latency of(String name, long[] nanos) {
+        Arrays.sort(nanos);
+
+        return new Latency(name, nanos.length,
+                Arrays.stream(nanos).average().orElse(0) / 1_000_000.0,
+                percentile(nanos, 0.50) / 1_000_000.0,
+                percentile(nanos, 0.99) / 1_000_000.0,
+                percentile(nanos, 0.999) / 1_000_000.0);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-45s n=%-7d mean=%9.3f ms  p50=%9.3f ms  p99=%9.3f ms  p999=%9.3f ms",
+                name, samples, mean, p50, p99, p999);
+    }
+}
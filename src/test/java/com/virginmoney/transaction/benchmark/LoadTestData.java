@@ -0,0 +1,112 @@
+package com.virginmoney.transaction.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, skewed transaction data for the HTTP load test: a few categories and vendors take
+ * most of the traffic (Zipf weights), amounts are log-normal around a per-category median, activity
+ * grows towards the most recent days, and card payments dominate the payment types.
+ */
+final class LoadTestData {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2019, 1, 1);
+
+    static final int DAYS = 6 * 365;
+
+    private static final int INSERT_BATCH = 10_000;
+
+    // CARD, INTERNET, DIRECT_DEBIT, BANK_TRANSFER
+    private static final double[] TYPE_WEIGHTS = {0.55, 0.20, 0.15, 0.10};
+
+    private final SplittableRandom random;
+
+    private final double[] categoryWeights = zipf(BenchmarkData.CATEGORIES.length);
+
+    private final double[] vendorWeights = zipf(BenchmarkData.VENDORS.length);
+
+    LoadTestData(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        LoadTestData data = new LoadTestData(42);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+
+        for (int id = 1; id <= rows; id++) {
+            int category = data.category();
+            batch.add(new Object[]{id, data.date(), data.vendor(category), data.type(), data.amountMinor(category),
+                    BenchmarkData.CATEGORIES[category]});
+
+            if (batch.size() == INSERT_BATCH) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+    }
+
+    int category() {
+        return pick(categoryWeights);
+    }
+
+    Date date() {
+        // sqrt skews the day towards the end of the range, i.e. more recent activity
+        return Date.valueOf(FIRST_DAY.plusDays((long) (Math.sqrt(random.nextDouble()) * DAYS)));
+    }
+
+    String vendor(int category) {
+        // rotate the vendor ranking per category so each category has its own favourite vendors
+        return BenchmarkData.VENDORS[(pick(vendorWeights) + category) % BenchmarkData.VENDORS.length];
+    }
+
+    int type() {
+        return pick(TYPE_WEIGHTS);
+    }
+
+    long amountMinor(int category) {
+        double median = 5.0 + 15.0 * (category % 7);
+        double amount = median * Math.exp(0.8 * random.nextGaussian());
+        return Math.round(Math.min(amount, 5_000.0) * 100.0);
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private int pick(double[] weights) {
+        double target = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < weights.length - 1; i++) {
+            cumulative += weights[i];
+            if (target < cumulative) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static double[] zipf(int size) {
+        double[] weights = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 / (i + 1);
+            total += weights[i];
+        }
+        for (int i = 0; i < size; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (?, ?, ?, ?, ?, 'GBP', ?)",
+                batch);
+    }
+}
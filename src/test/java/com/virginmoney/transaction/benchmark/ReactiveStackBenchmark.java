@@ -0,0 +1,79 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.TransactionApplication;
+import com.virginmoney.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The servlet stack (Tomcat + JPA) against the {@code reactive} profile (Netty + R2DBC reads) on the same
+ * five routes. The application is started once per stack on its own in-memory database, seeded identically,
+ * and driven with the same load.
+ *
+ * Tunables (system properties):
+ *   loadtest.rows        seeded rows (default 50000)
+ *   loadtest.threads     concurrent clients (default 400)
+ *   loadtest.warmup      warm-up before measuring (default 10s)
+ *   loadtest.duration    measured window per stack (default 20s)
+ *   loadtest.mix         endpoint weights, see {@link HttpLoadDriver#DEFAULT_MIX}
+ *
+ * mvn test -Pbenchmark -Dtest=ReactiveStackBenchmark
+ */
+@Tag("benchmark")
+class ReactiveStackBenchmark {
+
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 50_000);
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 400);
+
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("loadtest.duration", "20s"));
+
+    private static final String MIX = System.getProperty("loadtest.mix", HttpLoadDriver.DEFAULT_MIX);
+
+    @Test
+    void servletStackVersusReactiveStack() throws Exception {
+        HttpLoadDriver.Report servlet = run(false);
+        HttpLoadDriver.Report reactive = run(true);
+
+        System.out.printf("%nReactive stack benchmark - %,d rows, %d clients, %s warm-up, %s measured, mix %s%n",
+                ROWS, THREADS, WARMUP, DURATION, MIX);
+        System.out.printf("%nServlet stack (Tomcat + JPA)%n%s", servlet);
+        System.out.printf("%nReactive stack (Netty + R2DBC)%n%s", reactive);
+
+        assertThat(servlet.overall().latency().samples()).isPositive();
+        assertThat(reactive.overall().latency().samples()).isPositive();
+    }
+
+    private HttpLoadDriver.Report run(boolean reactive) throws Exception {
+        String database = reactive ? "stack-reactive" : "stack-servlet";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TransactionApplication.class)
+                .profiles(reactive ? "reactive" : "default")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + database,
+                        // Boot logs JDBC into an in-memory H2 as "sa" when no username is set; R2DBC must match
+                        "--spring.datasource.username=sa",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.virginmoney.transaction=WARN",
+                        "--logging.level.org.springframework.web=WARN")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            LoadTestData.seed(jdbcTemplate, ROWS);
+            context.getBean(TransactionSummaryService.class).rebuild();
+            jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH " + (ROWS + 100));
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return new HttpLoadDriver(port, context.getBean(ObjectMapper.class)).run(MIX, THREADS, WARMUP, DURATION);
+        }
+    }
+}
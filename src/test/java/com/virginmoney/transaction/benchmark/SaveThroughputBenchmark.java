@@ -0,0 +1,128 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.TransactionType;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import com.virginmoney.transaction.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Insert throughput in rows/sec (default 100k rows, override with -Dbenchmark.rows):
+ * the old saveAll path with JDBC batching disabled against saveAllInBatches with
+ * transaction.save.batch-size, plus the full saveTransactions service path.
+ *
+ * mvn test -Pbenchmark -Dtest=SaveThroughputBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:save-throughput-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.virginmoney.transaction=WARN",
+        "logging.level.org.springframework.web=WARN"})
+class SaveThroughputBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    private static final int REQUEST_SIZE = 10_000;
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE transaction");
+    }
+
+    @Test
+    void saveThroughput_unbatchedVersusBatched() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        // warm up Hibernate and the JIT on a small batch before timing anything
+        timedSave(1, requestSized(random, 2_000), transactionRepo::saveAllInBatches);
+
+        double unbatched = rowsPerSecond(1, random, transactionRepo::saveAll);
+        double batched = rowsPerSecond(null, random, transactionRepo::saveAllInBatches);
+        double service = serviceRowsPerSecond(random);
+
+        System.out.printf("%nSave throughput benchmark - %,d rows in requests of %,d%n", ROWS, REQUEST_SIZE);
+        System.out.printf("%-50s %,12.0f rows/sec%n", "saveAll, jdbc batch_size=1", unbatched);
+        System.out.printf("%-50s %,12.0f rows/sec%n", "saveAllInBatches, transaction.save.batch-size", batched);
+        System.out.printf("%-50s %,12.0f rows/sec%n", "TransactionService.saveTransactions", service);
+    }
+
+    private double rowsPerSecond(Integer jdbcBatchSize, SplittableRandom random, Consumer<List<TransactionEntity>> save) {
+        long nanos = 0;
+        for (int saved = 0; saved < ROWS; saved += REQUEST_SIZE) {
+            nanos += timedSave(jdbcBatchSize, requestSized(random, REQUEST_SIZE), save);
+        }
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+
+    private long timedSave(Integer jdbcBatchSize, List<TransactionEntity> transactions, Consumer<List<TransactionEntity>> save) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            save.accept(transactions);
+        });
+        return System.nanoTime() - start;
+    }
+
+    private double serviceRowsPerSecond(SplittableRandom random) {
+        long nanos = 0;
+        for (int saved = 0; saved < ROWS; saved += REQUEST_SIZE) {
+            List<TransactionRequestDto> requests = requestSized(random, REQUEST_SIZE).stream()
+                    .map(entity -> new TransactionRequestDto(entity.getDate().toLocalDate(), entity.getVendor(),
+                            entity.getType().name().toLowerCase(), Money.toDecimal(entity.getAmountMinor()), entity.getCategory()))
+                    .toList();
+
+            long start = System.nanoTime();
+            transactionService.saveTransactions(requests);
+            nanos += System.nanoTime() - start;
+        }
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+
+    private static List<TransactionEntity> requestSized(SplittableRandom random, int size) {
+        List<TransactionEntity> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(TransactionEntity.builder()
+                    .date(Date.valueOf(BenchmarkData.FIRST_DAY.plusDays(random.nextInt(BenchmarkData.DAYS))))
+                    .vendor(BenchmarkData.VENDORS[random.nextInt(BenchmarkData.VENDORS.length)])
+                    .type(TransactionType.values()[random.nextInt(TransactionType.values().length)])
+                    .amountMinor(Math.round(random.nextDouble(1, 500) * 100.0))
+                    .currency(Money.DEFAULT_CURRENCY)
+                    .category(BenchmarkData.CATEGORIES[random.nextInt(BenchmarkData.CATEGORIES.length)])
+                    .build());
+        }
+        return transactions;
+    }
+}
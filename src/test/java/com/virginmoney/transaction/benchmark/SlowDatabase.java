@@ -0,0 +1,54 @@
+package com.virginmoney.transaction.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Simulates a slow database by sleeping each time a statement is prepared, while the pooled connection
+ * stays checked out, so callers contend for the Hikari pool the way they do during a slow-query burst.
+ */
+final class SlowDatabase implements BeanPostProcessor {
+
+    private final Duration latency;
+
+    SlowDatabase(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || latency.isZero()) {
+            return bean;
+        }
+        return Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(method, dataSource, args);
+                    return result instanceof Connection connection ? slow(connection) : result;
+                });
+    }
+
+    private Connection slow(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare")) {
+                        Thread.sleep(latency.toMillis());
+                    }
+                    return invoke(method, connection, args);
+                });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException exception) {
+            throw exception.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.TransactionApplication;
+import com.virginmoney.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Platform-thread Tomcat pool against virtual threads with the DB bulkhead, at high concurrency with a
+ * simulated slow database. The application is started once per mode on its own in-memory database,
+ * seeded identically, and driven with the same load.
+ *
+ * Tunables (system properties):
+ *   loadtest.rows        seeded rows (default 50000)
+ *   loadtest.threads     concurrent clients (default 400)
+ *   loadtest.db-latency  added per statement while holding a connection (default 20ms)
+ *   loadtest.warmup      warm-up before measuring (default 10s)
+ *   loadtest.duration    measured window per mode (default 20s)
+ *   loadtest.mix         endpoint weights, see {@link HttpLoadDriver#DEFAULT_MIX}
+ *
+ * Needs a Java 21+ JVM:
+ * JAVA_HOME=/path/to/jdk21 mvn test -Pbenchmark -Dtest=ThreadingModeBenchmark
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmark {
+
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 50_000);
+
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 400);
+
+    private static final Duration DB_LATENCY = Duration.parse("PT" + System.getProperty("loadtest.db-latency", "0.02s"));
+
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("loadtest.duration", "20s"));
+
+    private static final String MIX = System.getProperty("loadtest.mix", HttpLoadDriver.DEFAULT_MIX);
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21+");
+
+        HttpLoadDriver.Report platform = run(false);
+        HttpLoadDriver.Report virtual = run(true);
+
+        System.out.printf("%nThreading mode benchmark - %,d rows, %d clients, %s per statement, %s warm-up, %s measured, mix %s%n",
+                ROWS, THREADS, DB_LATENCY, WARMUP, DURATION, MIX);
+        System.out.printf("%nPlatform threads (Tomcat pool)%n%s", platform);
+        System.out.printf("%nVirtual threads + DB bulkhead%n%s", virtual);
+
+        assertThat(platform.overall().latency().samples()).isPositive();
+        assertThat(virtual.overall().latency().samples()).isPositive();
+    }
+
+    private HttpLoadDriver.Report run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TransactionApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new SlowDatabase(DB_LATENCY)))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:threading-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--logging.level.com.virginmoney.transaction=WARN",
+                        "--logging.level.org.springframework.web=WARN")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            LoadTestData.seed(jdbcTemplate, ROWS);
+            context.getBean(TransactionSummaryService.class).rebuild();
+            jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH " + (ROWS + 100));
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return new HttpLoadDriver(port, context.getBean(ObjectMapper.class)).run(MIX, THREADS, WARMUP, DURATION);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.virginmoney.transaction.TransactionApplication;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.model.SaveStatus;
+import com.virginmoney.transaction.service.TransactionService;
+import com.virginmoney.transaction.service.TransactionWriteBehindQueue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A burst of small saves, as a card processor sends them, made straight through saveTransactions against
+ * the write-behind queue with its fsync'd journal. Reports per-request latency for both, and for the queue
+ * also the rows/sec until every ticket is saved.
+ *
+ * Tunables (system properties):
+ *   benchmark.requests      saves in the burst (default 2000)
+ *   benchmark.request-size  transactions per save (default 50)
+ *
+ * mvn test -Pbenchmark -Dtest=WriteBehindSaveBenchmark
+ */
+@Tag("benchmark")
+class WriteBehindSaveBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 2_000);
+
+    private static final int REQUEST_SIZE = Integer.getInteger("benchmark.request-size", 50);
+
+    @TempDir
+    private Path journalDir;
+
+    @Test
+    void synchronousVersusWriteBehindSaves() throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TransactionApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:write-behind;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--transaction.save.async.enabled=true",
+                        "--transaction.save.async.capacity=" + REQUESTS * REQUEST_SIZE,
+                        "--transaction.save.async.journal.path=" + journalDir.resolve("saves.journal"),
+                        "--logging.level.com.virginmoney.transaction=WARN",
+                        "--logging.level.org.springframework.web=WARN")) {
+            TransactionService transactionService = context.getBean(TransactionService.class);
+            TransactionWriteBehindQueue writeBehindQueue = context.getBean(TransactionWriteBehindQueue.class);
+            List<List<TransactionRequestDto>> burst = burst(new SplittableRandom(11));
+
+            Latency synchronous = Latency.of("saveTransactions per request", time(burst, transactionService::saveTransactions));
+
+            List<String> tickets = new ArrayList<>(REQUESTS);
+            long start = System.nanoTime();
+            Latency writeBehind = Latency.of("write-behind enqueue per request",
+                    time(burst, requests -> tickets.add(writeBehindQueue.enqueue(requests).ticket())));
+            for (String ticket : tickets) {
+                while (writeBehindQueue.getTicket(ticket).status() == SaveStatus.QUEUED) {
+                    Thread.sleep(1);
+                }
+            }
+            double drainedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("%nWrite-behind benchmark - %,d saves of %d transactions%n", REQUESTS, REQUEST_SIZE);
+            System.out.println(synchronous);
+            System.out.println(writeBehind);
+            System.out.printf("%-45s %,12.0f rows/sec%n", "synchronous end to end",
+                    REQUESTS * REQUEST_SIZE / (synchronous.mean() * REQUESTS / 1000));
+            System.out.printf("%-45s %,12.0f rows/sec%n", "write-behind until every ticket saved",
+                    REQUESTS * REQUEST_SIZE / drainedSeconds);
+
+            assertThat(writeBehind.p50()).isLessThan(synchronous.p50());
+        }
+    }
+
+    private static long[] time(List<List<TransactionRequestDto>> burst, Consumer<List<TransactionRequestDto>> save) {
+        long[] nanos = new long[burst.size()];
+        for (int i = 0; i < burst.size(); i++) {
+            long start = System.nanoTime();
+            save.accept(burst.get(i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static List<List<TransactionRequestDto>> burst(SplittableRandom random) {
+        List<List<TransactionRequestDto>> burst = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            List<TransactionRequestDto> requests = new ArrayList<>(REQUEST_SIZE);
+            for (int j = 0; j < REQUEST_SIZE; j++) {
+                requests.add(new TransactionRequestDto(
+                        BenchmarkData.FIRST_DAY.plusDays(random.nextInt(BenchmarkData.DAYS)),
+                        BenchmarkData.VENDORS[random.nextInt(BenchmarkData.VENDORS.length)],
+                        "card",
+                        BigDecimal.valueOf(random.nextInt(100, 50_000), 2),
+                        BenchmarkData.CATEGORIES[random.nextInt(BenchmarkData.CATEGORIES.length)]));
+            }
+            burst.add(requests);
+        }
+        return burst;
+    }
+}
@@ -0,0 +1,99 @@
+package com.virginmoney.transaction.benchmark;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import com.virginmoney.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Yearly statistics over a seeded in-memory H2 table (default 1M rows, override with -Dbenchmark.rows).
+ * Compares the old load-everything-and-filter-in-Java path with the date-range aggregate query,
+ * with and without the (category, date, id) index, and with the category monthly summary rollup.
+ *
+ * mvn test -Pbenchmark -Dtest=YearlyStatisticsBenchmark
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:yearly-statistics-benchmark;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.virginmoney.transaction=WARN",
+        "logging.level.org.springframework.web=WARN"})
+class YearlyStatisticsBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+    private static final String CATEGORY = "Groceries";
+
+    private static final int YEAR = 2020;
+
+    private static final Date FROM = Date.valueOf("2020-01-01");
+
+    private static final Date TO = Date.valueOf("2021-01-01");
+
+    @Autowired
+    private TransactionRepo transactionRepo;
+
+    @Autowired
+    private CategoryMonthlySummaryRepo summaryRepo;
+
+    @Autowired
+    private TransactionSummaryService summaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        BenchmarkData.seed(jdbcTemplate, ROWS);
+        summaryService.rebuild();
+    }
+
+    @Test
+    void yearlyStatistics_beforeAndAfter() {
+        Latency legacy = Latency.measure("findByCategory + filter by year in Java", 3, 10, () ->
+                transactionRepo.findByCategory(CATEGORY).orElseThrow().stream()
+                        .filter(transaction -> transaction.getDate().toLocalDate().getYear() == YEAR)
+                        .mapToLong(TransactionEntity::getAmountMinor)
+                        .summaryStatistics());
+
+        jdbcTemplate.execute("DROP INDEX " + TransactionEntity.CATEGORY_DATE_INDEX);
+        Latency withoutIndex = Latency.measure("date-range aggregate, no index", 5, 50, () ->
+                transactionRepo.findStatisticsByCategoryAndDateRange(CATEGORY, FROM, TO));
+
+        jdbcTemplate.execute("CREATE INDEX " + TransactionEntity.CATEGORY_DATE_INDEX
+                + " ON transaction (category, date DESC, id DESC)");
+        Latency withIndex = Latency.measure("date-range aggregate, (category, date, id) index", 5, 50, () ->
+                transactionRepo.findStatisticsByCategoryAndDateRange(CATEGORY, FROM, TO));
+
+        Latency rollup = Latency.measure("category monthly summary rollup", 5, 50, () ->
+                summaryRepo.findStatisticsByCategoryAndYear(CATEGORY, YEAR));
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT COUNT(*), MIN(amount_minor), MAX(amount_minor), SUM(amount_minor) FROM transaction " +
+                        "WHERE category = ? AND date >= ? AND date < ?", CATEGORY, FROM, TO);
+
+        System.out.printf("%nYearly statistics benchmark - %,d rows, category %s, year %d%n", ROWS, CATEGORY, YEAR);
+        System.out.println(legacy);
+        System.out.println(withoutIndex);
+        System.out.println(withIndex);
+        System.out.println(rollup);
+        System.out.println("Plan: " + plan.get(0).values().iterator().next());
+
+        assertThat(plan.get(0).values().iterator().next().toString()).contains("IDX_TRANSACTION_CATEGORY_DATE");
+    }
+}
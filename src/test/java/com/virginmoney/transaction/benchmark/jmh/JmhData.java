@@ -0,0 +1,52 @@
+package com.virginmoney.transaction.benchmark.jmh;
+
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.TransactionType;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded transactions in a single category for the JMH benchmarks, newest first as the
+ * (category, date desc, id desc) index returns them.
+ */
+final class JmhData {
+
+    static final String CATEGORY = "MyMonthlyDD";
+
+    private static final String[] VENDORS = {"Morrisons", "M&S", "ALDI", "Tesco", "CYBG", "PureGym", "McMillan",
+            "Amazon", "Shell", "Trainline"};
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+
+    private static final int DAYS = 10 * 365;
+
+    private JmhData() {
+    }
+
+    static List<TransactionEntity> seed(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<TransactionEntity> transactions = new ArrayList<>(rows);
+        for (int id = 1; id <= rows; id++) {
+            transactions.add(new TransactionEntity(id,
+                    Date.valueOf(FIRST_DAY.plusDays(random.nextInt(DAYS))),
+                    VENDORS[random.nextInt(VENDORS.length)],
+                    TYPES[random.nextInt(TYPES.length)],
+                    Math.round(random.nextDouble(1, 500) * 100.0),
+                    Money.DEFAULT_CURRENCY,
+                    CATEGORY,
+                    null));
+        }
+        transactions.sort(Comparator.comparing(TransactionEntity::getDate)
+                .thenComparingLong(TransactionEntity::getId)
+                .reversed());
+        return transactions;
+    }
+}
@@ -0,0 +1,69 @@
+package com.virginmoney.transaction.benchmark.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.model.TransactionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and Jackson serialization of {@link TransactionDto} lists, including the
+ * dd/MMM/yyyy date format, with the ObjectMapper defaults Spring MVC uses.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="MappingSerializationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingSerializationBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<TransactionEntity> entities;
+
+    private List<TransactionDto> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entities = JmhData.seed(size);
+        dtos = entities.stream().map(TransactionMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<TransactionDto> toDto() {
+        return entities.stream().map(TransactionMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities.stream().map(TransactionMapper::toDto).toList());
+    }
+}
@@ -0,0 +1,78 @@
+package com.virginmoney.transaction.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU per format for a {@code getLatestByCategory} response, as each negotiable representation and then
+ * gzipped the way {@code server.compression} does it. Bytes on the wire for each format are printed once per
+ * trial, before the measurements.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ResponseEncodingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    @Param({"json", "columns", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+
+    private List<TransactionDto> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        dtos = JmhData.seed(size).stream().map(TransactionMapper::toDto).toList();
+
+        System.out.printf("%n%s, %d transactions: %,d bytes, %,d gzipped%n",
+                format, size, serialize().length, serializeAndGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        Object body = format.equals("columns") ? TransactionMapper.toColumns(dtos.get(0).category(), dtos) : dtos;
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(serialize());
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,155 @@
+package com.virginmoney.transaction.benchmark.jmh;
+
+import com.virginmoney.transaction.TransactionApplication;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import com.virginmoney.transaction.service.CategoryVersions;
+import com.virginmoney.transaction.service.ColumnarTransactionStore;
+import com.virginmoney.transaction.service.IdempotencyKeyIndex;
+import com.virginmoney.transaction.service.TransactionServiceImpl;
+import com.virginmoney.transaction.service.TransactionSketchService;
+import com.virginmoney.transaction.service.TransactionSummaryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionServiceImpl} read paths over a category of 10k/100k/1M rows in an in-memory H2
+ * database, through the application's own repositories and rollup tables, so the numbers include the
+ * queries and JDBC mapping as well as the service work. The {@code Columnar} variants serve the same
+ * aggregations from a {@link ColumnarTransactionStore} loaded from that table, whose footprint is printed
+ * at setup.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ServiceAggregationBenchmark -p rows=100000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceAggregationBenchmark {
+
+    private static final String INSERT =
+            "INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (?, ?, ?, ?, ?, 'GBP', ?)";
+
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionServiceImpl transactionService;
+
+    private TransactionServiceImpl columnarService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TransactionApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:service-aggregation;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        insert(context.getBean(JdbcTemplate.class), JmhData.seed(rows));
+        context.getBean(TransactionSummaryService.class).rebuild();
+        transactionService = service(Optional.empty());
+
+        ColumnarTransactionStore columnarStore = new ColumnarTransactionStore(context.getBean(TransactionRepo.class),
+                context.getBean(PlatformTransactionManager.class), context.getBean(MeterRegistry.class));
+        columnarStore.load();
+        columnarService = service(Optional.of(columnarStore));
+
+        System.out.printf("%nColumnar store: %,d rows, %,d bytes (%.1f MB per million rows)%n", columnarStore.rows(),
+                columnarStore.footprintBytes(), columnarStore.footprintBytes() * 1_000_000.0 / rows / (1024 * 1024));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionDto> getLatestByCategory() {
+        return transactionService.getLatestByCategory(JmhData.CATEGORY, 50);
+    }
+
+    @Benchmark
+    public BigDecimal getTotalSpendByCategory() {
+        return transactionService.getTotalSpendByCategory(JmhData.CATEGORY);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> getMonthlyAverageByCategory() {
+        return transactionService.getMonthlyAverageByCategory(JmhData.CATEGORY);
+    }
+
+    @Benchmark
+    public StatisticsDto getYearlyStatisticsByCategory() {
+        return transactionService.getYearlyStatisticsByCategory(JmhData.CATEGORY, 2020);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> getMonthlyAverageByCategoryColumnar() {
+        return columnarService.getMonthlyAverageByCategory(JmhData.CATEGORY);
+    }
+
+    @Benchmark
+    public StatisticsDto getYearlyStatisticsByCategoryColumnar() {
+        return columnarService.getYearlyStatisticsByCategory(JmhData.CATEGORY, 2020);
+    }
+
+    // built by hand so both variants differ only in the columnar store, not in the proxies around the bean
+    private TransactionServiceImpl service(Optional<ColumnarTransactionStore> columnarStore) {
+        return new TransactionServiceImpl(
+                context.getBean(TransactionRepo.class),
+                context.getBean(CategoryMonthlySummaryRepo.class),
+                context.getBean(TransactionSummaryService.class),
+                context.getBean(TransactionSketchService.class),
+                context.getBean(MeterRegistry.class),
+                columnarStore,
+                context.getBean(IdempotencyKeyIndex.class),
+                context.getBean(CategoryVersions.class));
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<TransactionEntity> transactions) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (TransactionEntity transaction : transactions) {
+            batch.add(new Object[]{transaction.getId(), transaction.getDate(), transaction.getVendor(),
+                    transaction.getType().ordinal(), transaction.getAmountMinor(), transaction.getCategory()});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, batch);
+    }
+}
@@ -0,0 +1,126 @@
+package com.virginmoney.transaction.benchmark.jmh;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hand-written {@link TransactionDto} serializer, {@link TransactionRequestDto} deserializer and
+ * {@link TransactionType#fromName} against what they replaced: Jackson's reflective record handling of a
+ * {@code java.sql.Date} with {@code @JsonFormat(pattern = "dd/MMM/yyyy")}, and
+ * {@code TransactionType.valueOf(type.toUpperCase())}. Add {@code -prof gc} for allocations per operation.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="TransactionCodecBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionCodecBenchmark {
+
+    @Param({"50", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<TransactionDto> dtos;
+
+    private List<SqlDateTransactionDto> sqlDateDtos;
+
+    private byte[] requestsJson;
+
+    private ObjectReader requestsReader;
+
+    private ObjectReader sqlDateRequestsReader;
+
+    private String[] typeNames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        dtos = JmhData.seed(size).stream().map(TransactionMapper::toDto).toList();
+        sqlDateDtos = dtos.stream().map(SqlDateTransactionDto::of).toList();
+        requestsJson = objectMapper.writeValueAsBytes(dtos.stream()
+                .map(dto -> new TransactionRequestDto(dto.date(), dto.vendor(), dto.type().toLowerCase(), dto.amount(),
+                        dto.currency(), dto.category(), null))
+                .toList());
+        requestsReader = objectMapper.readerFor(TransactionRequestDto[].class);
+        sqlDateRequestsReader = objectMapper.readerFor(SqlDateTransactionRequestDto[].class);
+        typeNames = dtos.stream().map(dto -> dto.type().toLowerCase()).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serializeReflectiveSqlDate() throws IOException {
+        return objectMapper.writeValueAsBytes(sqlDateDtos);
+    }
+
+    @Benchmark
+    public TransactionRequestDto[] deserializeRequests() throws IOException {
+        return requestsReader.readValue(requestsJson);
+    }
+
+    @Benchmark
+    public SqlDateTransactionRequestDto[] deserializeRequestsReflectiveSqlDate() throws IOException {
+        return sqlDateRequestsReader.readValue(requestsJson);
+    }
+
+    @Benchmark
+    public void typeFromName(Blackhole blackhole) {
+        for (String name : typeNames) {
+            blackhole.consume(TransactionType.fromName(name));
+        }
+    }
+
+    @Benchmark
+    public void typeValueOfUpperCase(Blackhole blackhole) {
+        for (String name : typeNames) {
+            blackhole.consume(TransactionType.valueOf(name.toUpperCase()));
+        }
+    }
+
+    public record SqlDateTransactionDto(long id,
+                                        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MMM/yyyy") Date date,
+                                        String vendor, String type, BigDecimal amount, String currency, String category) {
+
+        static SqlDateTransactionDto of(TransactionDto dto) {
+            return new SqlDateTransactionDto(dto.id(), Date.valueOf(dto.date()), dto.vendor(), dto.type(), dto.amount(),
+                    dto.currency(), dto.category());
+        }
+    }
+
+    public record SqlDateTransactionRequestDto(@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MMM/yyyy") Date date,
+                                               String vendor, String type, BigDecimal amount, String currency,
+                                               String category, String idempotencyKey) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.virginmoney.transaction.config;
+
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import com.virginmoney.transaction.repo.CategoryMonthlySketchRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class DatabaseBulkheadAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DatabaseBulkheadAspect bulkhead = new DatabaseBulkheadAspect(1, Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    void limitConcurrency_AllPermitsHeld_shouldRejectWithDatabaseBusyException() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class, RETURNS_DEEP_STUBS);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return "slow";
+        });
+        ProceedingJoinPoint rejectedCall = mock(ProceedingJoinPoint.class, RETURNS_DEEP_STUBS);
+
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> proceed(slowCall));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Exception exception = assertThrows(DatabaseBusyException.class, () -> bulkhead.limitConcurrency(rejectedCall));
+        release.countDown();
+
+        assertAll(
+                () -> assertThat(exception.getMessage()).isEqualTo("Database is busy, please retry"),
+                () -> assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("slow")
+        );
+        verify(rejectedCall, never()).proceed();
+    }
+
+    @Test
+    void limitConcurrency_CallCompletes_shouldReleasePermit() throws Throwable {
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        when(call.proceed()).thenThrow(new IllegalStateException("query failed")).thenReturn("ok");
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.limitConcurrency(call));
+
+        assertAll(
+                () -> assertThat(bulkhead.limitConcurrency(call)).isEqualTo("ok"),
+                () -> assertThat(meterRegistry.get("transaction.db.bulkhead.available").gauge().value()).isEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void limitConcurrency_NestedCall_shouldKeepTheCallersPermit() throws Throwable {
+        ProceedingJoinPoint repositoryCall = mock(ProceedingJoinPoint.class, RETURNS_DEEP_STUBS);
+        when(repositoryCall.proceed()).thenReturn("row");
+        ProceedingJoinPoint serviceCall = mock(ProceedingJoinPoint.class, RETURNS_DEEP_STUBS);
+        when(serviceCall.proceed()).thenAnswer(invocation -> bulkhead.limitConcurrency(repositoryCall));
+
+        assertAll(
+                () -> assertThat(bulkhead.limitConcurrency(serviceCall)).isEqualTo("row"),
+                () -> assertThat(meterRegistry.get("transaction.db.bulkhead.available").gauge().value()).isEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void repositoryCall_AllPermitsHeld_shouldRejectWithDatabaseBusyException() throws Throwable {
+        AspectJProxyFactory factory = new AspectJProxyFactory(mock(CategoryMonthlySketchRepo.class));
+        factory.addAspect(bulkhead);
+        CategoryMonthlySketchRepo sketchRepo = factory.getProxy();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = mock(ProceedingJoinPoint.class, RETURNS_DEEP_STUBS);
+        when(slowCall.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return "slow";
+        });
+
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> proceed(slowCall));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThrows(DatabaseBusyException.class, sketchRepo::count);
+        release.countDown();
+
+        assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return bulkhead.limitConcurrency(joinPoint);
+        }
+        catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+}
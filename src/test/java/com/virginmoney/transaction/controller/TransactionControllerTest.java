@@ -1,25 +1,43 @@
 package com.virginmoney.transaction.controller;
 
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SaveTicketDto;
 import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionColumnsDto;
+import com.virginmoney.transaction.dto.TransactionDates;
 import com.virginmoney.transaction.dto.TransactionDto;
 import com.virginmoney.transaction.dto.TransactionRequestDto;
-import com.virginmoney.transaction.service.TransactionServiceImpl;
+import com.virginmoney.transaction.dto.TransactionPageDto;
+import com.virginmoney.transaction.service.CategoryVersions;
+import com.virginmoney.transaction.service.TransactionService;
+import com.virginmoney.transaction.model.SaveStatus;
+import com.virginmoney.transaction.service.TransactionStreamService;
+import com.virginmoney.transaction.service.TransactionWriteBehindQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
-import java.sql.Date;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Mockito.*;
@@ -28,52 +46,133 @@ import static org.mockito.Mockito.*;
 class TransactionControllerTest {
 
     @Mock
-    TransactionServiceImpl transactionService;
+    TransactionService transactionService;
+
+    @Mock
+    TransactionStreamService transactionStreamService;
 
     @InjectMocks
     TransactionController transactionController;
 
+    private final CategoryVersions categoryVersions = new CategoryVersions();
+
+    private final MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/transaction/MyMonthlyDD");
+
+    private final ServletWebRequest request = new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+
     private List<TransactionDto> transactionsByCategory;
     @BeforeEach
-    void setUp() throws ParseException {
-       transactionController = new TransactionController(transactionService);
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MMM/yyyy");
+    void setUp() {
+       transactionController = new TransactionController(transactionService, transactionStreamService, Optional.empty(),
+               categoryVersions);
         transactionsByCategory = Arrays.asList(
-                new TransactionDto(4, new Date(dateFormat.parse("04/Apr/2021").getTime()), "ALDI",
-                        "direct_debit", 428, "MyMonthlyDD"),
-                new TransactionDto(3, new Date(dateFormat.parse("28/Oct/2021").getTime()), "CYBG",
-                        "internet", 600, "MyMonthlyDD"),
-                new TransactionDto(1, new Date(dateFormat.parse("28/Oct/2020").getTime()), "CYBG",
-                        "direct_debit", 600, "MyMonthlyDD"),
-                new TransactionDto(2, new Date(dateFormat.parse("30/Oct/2020").getTime()), "Morrisons",
-                        "cardt", 54.6, "MyMonthlyDD"),
-                new TransactionDto(5, new Date(dateFormat.parse("28/Nov/2020").getTime()), "PureGym",
-                        "direct_debit", 40, "MyMonthlyDD"));
+                new TransactionDto(4, TransactionDates.parse("04/Apr/2021"), "ALDI",
+                        "direct_debit", new BigDecimal("428"), "GBP", "MyMonthlyDD"),
+                new TransactionDto(3, TransactionDates.parse("28/Oct/2021"), "CYBG",
+                        "internet", new BigDecimal("600"), "GBP", "MyMonthlyDD"),
+                new TransactionDto(1, TransactionDates.parse("28/Oct/2020"), "CYBG",
+                        "direct_debit", new BigDecimal("600"), "GBP", "MyMonthlyDD"),
+                new TransactionDto(2, TransactionDates.parse("30/Oct/2020"), "Morrisons",
+                        "cardt", new BigDecimal("54.6"), "GBP", "MyMonthlyDD"),
+                new TransactionDto(5, TransactionDates.parse("28/Nov/2020"), "PureGym",
+                        "direct_debit", new BigDecimal("40"), "GBP", "MyMonthlyDD"));
     }
 
     @Test
     void getLatestByCategory_TransactionFoundForCategory_shouldReturnTransactions() {
         String category = "MyMonthlyDD";
 
-        when(transactionService.getLatestByCategory(category)).thenReturn(new ResponseEntity<>(transactionsByCategory, HttpStatus.OK));
+        when(transactionService.getLatestByCategory(category, 20)).thenReturn(transactionsByCategory);
 
-        ResponseEntity<List<TransactionDto>> response = transactionController.getLatestByCategory(category);
+        ResponseEntity<List<TransactionDto>> response = transactionController.getLatestByCategory(category, 20, request);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(transactionsByCategory);
-        verify(transactionService, times(1)).getLatestByCategory(category);
+        verify(transactionService, times(1)).getLatestByCategory(category, 20);
 
     }
 
+    @Test
+    void getLatestByCategory_CurrentETag_shouldReturnNotModifiedWithoutCallingService() {
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, categoryVersions.current("MyMonthlyDD").etag());
+
+        ResponseEntity<List<TransactionDto>> response = transactionController.getLatestByCategory("MyMonthlyDD", 20, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getVary()).isEqualTo(List.of(HttpHeaders.ACCEPT));
+        assertThat(request.isNotModified()).isTrue();
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void getLatestByCategory_ETagBeforeSave_shouldReturnTransactions() {
+        String category = "MyMonthlyDD";
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, categoryVersions.current(category).etag());
+        categoryVersions.recordSaved(Set.of(category));
+
+        when(transactionService.getLatestByCategory(category, 20)).thenReturn(transactionsByCategory);
+
+        ResponseEntity<List<TransactionDto>> response = transactionController.getLatestByCategory(category, 20, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(transactionsByCategory);
+    }
+
+    @Test
+    void getLatestColumnsByCategory_TransactionFoundForCategory_shouldReturnColumnsInRowOrder() {
+        String category = "MyMonthlyDD";
+
+        when(transactionService.getLatestByCategory(category, 20)).thenReturn(transactionsByCategory);
+
+        ResponseEntity<TransactionColumnsDto> response = transactionController.getLatestColumnsByCategory(category, 20, request);
+        TransactionColumnsDto columns = response.getBody();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(columns.category()).isEqualTo(category);
+        assertThat(columns.count()).isEqualTo(5);
+        assertThat(columns.id()).isEqualTo(List.of(4L, 3L, 1L, 2L, 5L));
+        assertThat(columns.vendor()).isEqualTo(List.of("ALDI", "CYBG", "CYBG", "Morrisons", "PureGym"));
+        assertThat(columns.amount()).isEqualTo(transactionsByCategory.stream().map(TransactionDto::amount).toList());
+        assertThat(columns.date().get(3)).isEqualTo(transactionsByCategory.get(3).date());
+    }
+
+    @Test
+    void getPageByCategory_TransactionFoundForCategory_shouldReturnPage() {
+        String category = "MyMonthlyDD";
+        TransactionPageDto page = new TransactionPageDto(transactionsByCategory.subList(0, 2), "MTg4Njg6Mw");
+
+        when(transactionService.getPageByCategory(category, 2, null)).thenReturn(page);
+
+        ResponseEntity<TransactionPageDto> response = transactionController.getPageByCategory(category, 2, null, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(page);
+        verify(transactionService, times(1)).getPageByCategory(category, 2, null);
+    }
+
+    @Test
+    void streamByCategory_TransactionFoundForCategory_shouldWriteTheServiceOutput() throws IOException {
+        String category = "MyMonthlyDD";
+        when(transactionStreamService.streamLatestByCategory(category))
+                .thenReturn(outputStream -> outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<StreamingResponseBody> response = transactionController.streamByCategory(category);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("{}\n");
+    }
+
     @Test
     void getTotalSpendByCategory_TransactionFoundForCategory_shouldReturnTotalSpend() {
         String category = "MyMonthlyDD";
-        Double result = transactionsByCategory.stream()
-                .mapToDouble(TransactionDto::amount)
-                .reduce(0.0, Double::sum);
+        BigDecimal result = transactionsByCategory.stream()
+                .map(TransactionDto::amount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        when(transactionService.getTotalSpendByCategory(category)).thenReturn(new ResponseEntity<>(result,HttpStatus.OK));
-        ResponseEntity<Double> response = transactionController.getTotalSpendByCategory(category);
+        when(transactionService.getTotalSpendByCategory(category)).thenReturn(result);
+        ResponseEntity<BigDecimal> response = transactionController.getTotalSpendByCategory(category, request);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(result);
@@ -83,13 +182,13 @@ class TransactionControllerTest {
     @Test
     void getMonthlyAverageByCategory_TransactionFoundForCategory_shouldReturnMonthlyAverage() {
         String category = "MyMonthlyDD";
-        Map<String, Double> result = new HashMap<>() {{
-            put("OCTOBER_2020", 664.6);
-            put("OCTOBER_2021", 600.0);
+        Map<String, BigDecimal> result = new HashMap<>() {{
+            put("OCTOBER_2020", new BigDecimal("664.60"));
+            put("OCTOBER_2021", new BigDecimal("600.00"));
         }};
 
-        when(transactionService.getMonthlyAverageByCategory(category)).thenReturn(new ResponseEntity<>(result,HttpStatus.OK));
-        ResponseEntity<Map<String, Double>> response = transactionController.getMonthlyAverageByCategory(category);
+        when(transactionService.getMonthlyAverageByCategory(category)).thenReturn(result);
+        ResponseEntity<Map<String, BigDecimal>> response = transactionController.getMonthlyAverageByCategory(category, request);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(result);
@@ -100,16 +199,16 @@ class TransactionControllerTest {
     void getYearlyStatisticsByCategory_TransactionFoundForCategoryInGivenYear_shouldReturnHighestSpendOftheYear() {
         String category = "MyMonthlyDD";
         int year = 2020;
-        // MyMonthlyDD - 2020 - statistics : min - 40 , max - 600, avg - 231.533.
+        // MyMonthlyDD - 2020 - statistics : min - 40 , max - 600, avg - 231.53.
         StatisticsDto mockResponse = StatisticsDto.builder()
-                .average_spend(231.533)
-                .highest_spend(600.0)
-                .lowest_spend(40.0)
+                .average_spend(new BigDecimal("231.53"))
+                .highest_spend(new BigDecimal("600.00"))
+                .lowest_spend(new BigDecimal("40.00"))
                 .build();
 
 
-        when(transactionService.getYearlyStatisticsByCategory(category,year)).thenReturn(new ResponseEntity<>(mockResponse,HttpStatus.OK));
-        ResponseEntity<StatisticsDto> response = transactionController.getYearlyStatisticsByCategory(category, year);
+        when(transactionService.getYearlyStatisticsByCategory(category,year)).thenReturn(mockResponse);
+        ResponseEntity<StatisticsDto> response = transactionController.getYearlyStatisticsByCategory(category, year, request);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(mockResponse);
@@ -117,22 +216,40 @@ class TransactionControllerTest {
     }
 
     @Test
-    void saveTransactions_TransactionsSave_Successful() throws ParseException {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MMM/yyyy");
-        List<TransactionRequestDto> input = Arrays.asList(new TransactionRequestDto(new Date(dateFormat.parse("28/Oct/2020").getTime()),
-                                            "CYBG", "card", 600, "MyMonthlyDD"),
-                                            new TransactionRequestDto(new Date(dateFormat.parse("28/Oct/2022").getTime()),
-                                                    "CYBG","direct_debit", 200, "Groceries")
+    void saveTransactions_TransactionsSave_Successful() {
+        List<TransactionRequestDto> input = Arrays.asList(new TransactionRequestDto(TransactionDates.parse("28/Oct/2020"),
+                                            "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"),
+                                            new TransactionRequestDto(TransactionDates.parse("28/Oct/2022"),
+                                                    "CYBG","direct_debit", new BigDecimal("200"), "Groceries")
         );
 
-        when(transactionService.saveTransactions(input)).thenReturn(new ResponseEntity<>(transactionsByCategory, HttpStatus.CREATED));
+        when(transactionService.saveTransactions(input)).thenReturn(new SaveResultDto(transactionsByCategory, 1));
 
-        ResponseEntity<List<TransactionDto>> response = transactionController.saveTransactions(input);
+        ResponseEntity<?> response = transactionController.saveTransactions(input);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).isEqualTo(transactionsByCategory);
+        assertThat(response.getHeaders().getFirst(TransactionController.DEDUPLICATED_HEADER)).isEqualTo("1");
         verify(transactionService, times(1)).saveTransactions(input);
 
     }
 
+    @Test
+    void saveTransactions_WriteBehindEnabled_shouldEnqueueInsteadOfSaving() {
+        TransactionWriteBehindQueue writeBehindQueue = mock(TransactionWriteBehindQueue.class);
+        TransactionController asyncController = new TransactionController(transactionService, transactionStreamService,
+                Optional.of(writeBehindQueue), categoryVersions);
+        List<TransactionRequestDto> input = List.of(new TransactionRequestDto(LocalDate.parse("2020-10-28"),
+                "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"));
+        SaveTicketDto ticket = new SaveTicketDto("ticket-1", SaveStatus.QUEUED, 1, null);
+
+        when(writeBehindQueue.enqueue(input)).thenReturn(ticket);
+
+        ResponseEntity<?> response = asyncController.saveTransactions(input);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isEqualTo(ticket);
+        verifyNoInteractions(transactionService);
+    }
+
 }
\ No newline at end of file
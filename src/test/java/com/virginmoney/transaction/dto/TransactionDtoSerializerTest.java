@@ -0,0 +1,43 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TransactionDtoSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void serialize_Transaction_shouldWriteEveryFieldWithTheDayMonthYearDate() throws Exception {
+        TransactionDto transaction = new TransactionDto(5, LocalDate.of(2021, 10, 8), "CYBG", "DIRECT_DEBIT",
+                new BigDecimal("600.00"), "GBP", "MyMonthlyDD");
+
+        String json = objectMapper.writeValueAsString(transaction);
+
+        assertThat(json).isEqualTo("{\"id\":5,\"date\":\"08/Oct/2021\",\"vendor\":\"CYBG\",\"type\":\"DIRECT_DEBIT\","
+                + "\"amount\":600.00,\"currency\":\"GBP\",\"category\":\"MyMonthlyDD\"}");
+    }
+
+    @Test
+    void serialize_NullFieldsAndDistantYear_shouldRoundTrip() throws Exception {
+        List<TransactionDto> transactions = List.of(
+                new TransactionDto(1, null, null, "CARD", null, "GBP", "Groceries"),
+                new TransactionDto(2, LocalDate.of(10000, 1, 31), "ALDI", "CARD", new BigDecimal("1.5"), "GBP", "Groceries"));
+
+        String json = objectMapper.writeValueAsString(transactions);
+        List<TransactionDto> read = List.of(objectMapper.readValue(json, TransactionDto[].class));
+
+        assertAll(
+                () -> assertThat(json).contains("\"date\":null,\"vendor\":null", "\"amount\":null", "\"31/Jan/+10000\""),
+                () -> assertThat(read).isEqualTo(transactions)
+        );
+    }
+}
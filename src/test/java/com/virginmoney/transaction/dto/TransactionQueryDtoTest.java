@@ -0,0 +1,34 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TransactionQueryDtoTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void deserialize_JvmWestOfUtc_shouldKeepTheDatesAsWritten() throws Exception {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            TransactionQueryDto query = objectMapper.readValue("{\"from\":\"01/Nov/2020\",\"to\":\"30/Nov/2020\"}",
+                    TransactionQueryDto.class);
+
+            assertAll(
+                    () -> assertThat(query.from()).isEqualTo(LocalDate.of(2020, 11, 1)),
+                    () -> assertThat(query.to()).isEqualTo(LocalDate.of(2020, 11, 30))
+            );
+        }
+        finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+}
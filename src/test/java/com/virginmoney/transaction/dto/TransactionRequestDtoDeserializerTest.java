@@ -0,0 +1,69 @@
+package com.virginmoney.transaction.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TransactionRequestDtoDeserializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void deserialize_Request_shouldReadEveryFieldAndKeepTheAmountAsWritten() throws Exception {
+        TransactionRequestDto request = objectMapper.readValue("""
+                {"date":"28/Oct/2020","vendor":"CYBG","type":"direct_debit","amount":600.10,"currency":"GBP",
+                 "category":"MyMonthlyDD","idempotencyKey":"rent-2020-10","note":{"ignored":[1,2]}}""",
+                TransactionRequestDto.class);
+
+        assertAll(
+                () -> assertThat(request).isEqualTo(new TransactionRequestDto(LocalDate.of(2020, 10, 28), "CYBG",
+                        "direct_debit", new BigDecimal("600.10"), "GBP", "MyMonthlyDD", "rent-2020-10")),
+                () -> assertThat(request.amount().scale()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void deserialize_MissingFieldsAndStringAmount_shouldLeaveNulls() throws Exception {
+        TransactionRequestDto request = objectMapper.readValue("{\"amount\":\"12.50\",\"category\":\"Groceries\"}",
+                TransactionRequestDto.class);
+
+        assertThat(request).isEqualTo(new TransactionRequestDto(null, null, null, new BigDecimal("12.50"), "Groceries"));
+    }
+
+    @Test
+    void deserialize_ImpossibleDate_shouldFailNamingTheFormat() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"date\":\"31/Feb/2020\"}", TransactionRequestDto.class))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessageContaining("date must be in dd/MMM/yyyy format");
+    }
+
+    @Test
+    void deserialize_ObjectDate_shouldFailAsAMismatchedInput() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"date\":{\"day\":28},\"vendor\":\"CYBG\"}",
+                TransactionRequestDto.class))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("LocalDate");
+    }
+
+    @Test
+    void serialize_Request_shouldRoundTrip() throws Exception {
+        TransactionRequestDto request = new TransactionRequestDto(LocalDate.of(2020, 10, 28), "CYBG", "card",
+                new BigDecimal("600"), "MyMonthlyDD");
+
+        String json = objectMapper.writeValueAsString(request);
+
+        assertAll(
+                () -> assertThat(json).contains("\"date\":\"28/Oct/2020\""),
+                () -> assertThat(objectMapper.readValue(json, TransactionRequestDto.class)).isEqualTo(request)
+        );
+    }
+}
@@ -1,10 +1,12 @@
 package com.virginmoney.transaction.exception;
 
 import com.virginmoney.transaction.model.ErrorResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -15,9 +17,12 @@ class GlobalExceptionHandlerTest {
 
     private GlobalExceptionHandler exceptionHandler;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp(){
-        exceptionHandler = new GlobalExceptionHandler();
+        meterRegistry = new SimpleMeterRegistry();
+        exceptionHandler = new GlobalExceptionHandler(meterRegistry);
     }
 
      @Test
@@ -30,10 +35,52 @@ class GlobalExceptionHandlerTest {
          assertAll(
                  () -> assertThat(response).isNotNull(),
                  () -> assertThat(response.getBody().status()).isEqualTo(404),
-                 () -> assertThat(response.getBody().message()).isEqualTo("No transaction found")
+                 () -> assertThat(response.getBody().message()).isEqualTo("No transaction found"),
+                 () -> assertThat(meterRegistry.counter("transaction.errors", "exception", "TransactionNotFound").count()).isEqualTo(1.0)
          );
     }
 
+    @Test
+    void testInvalidCursorException(){
+
+        InvalidCursorException exception = new InvalidCursorException("Invalid cursor : abc");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleInvalidCursor(exception);
+
+        assertAll(
+                () -> assertThat(response).isNotNull(),
+                () -> assertThat(response.getBody().status()).isEqualTo(400),
+                () -> assertThat(response.getBody().message()).isEqualTo("Invalid cursor : abc")
+        );
+    }
+
+    @Test
+    void testInvalidQueryException(){
+
+        InvalidQueryException exception = new InvalidQueryException("Unknown metric : median");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleInvalidQuery(exception);
+
+        assertAll(
+                () -> assertThat(response.getBody().status()).isEqualTo(400),
+                () -> assertThat(response.getBody().message()).isEqualTo("Unknown metric : median")
+        );
+    }
+
+    @Test
+    void testInvalidTransactionException(){
+
+        InvalidTransactionException exception = new InvalidTransactionException("amount must have at most 2 decimal places: 10.005");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleInvalidTransaction(exception);
+
+        assertAll(
+                () -> assertThat(response.getBody().status()).isEqualTo(400),
+                () -> assertThat(response.getBody().message()).isEqualTo("amount must have at most 2 decimal places: 10.005"),
+                () -> assertThat(meterRegistry.counter("transaction.errors", "exception", "InvalidTransactionException").count()).isEqualTo(1.0)
+        );
+    }
+
     @Test
     void testDatabaseFetchException(){
 
@@ -44,7 +91,64 @@ class GlobalExceptionHandlerTest {
         assertAll(
                 () -> assertThat(response).isNotNull(),
                 () -> assertThat(response.getBody().status()).isEqualTo(500),
-                () -> assertThat(response.getBody().message()).isEqualTo("Error connecting to database")
+                () -> assertThat(response.getBody().message()).isEqualTo("Error connecting to database"),
+                () -> assertThat(meterRegistry.counter("transaction.errors", "exception", "DatabaseFetchException").count()).isEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void testDatabaseBusyException(){
+
+        DatabaseBusyException exception = new DatabaseBusyException("Database is busy, please retry");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleDatabaseBusyException(exception);
+
+        assertAll(
+                () -> assertThat(response.getBody().status()).isEqualTo(503),
+                () -> assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1"),
+                () -> assertThat(response.getBody().message()).isEqualTo("Database is busy, please retry")
+        );
+    }
+
+    @Test
+    void testSaveQueueFullException(){
+
+        SaveQueueFullException exception = new SaveQueueFullException("Save queue is full, please retry");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleQueueFullException(exception);
+
+        assertAll(
+                () -> assertThat(response.getBody().status()).isEqualTo(429),
+                () -> assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1"),
+                () -> assertThat(response.getBody().message()).isEqualTo("Save queue is full, please retry")
+        );
+    }
+
+    @Test
+    void testBatchQueueFullException(){
+
+        BatchQueueFullException exception = new BatchQueueFullException("Batch queue is full, please retry");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleQueueFullException(exception);
+
+        assertAll(
+                () -> assertThat(response.getBody().status()).isEqualTo(429),
+                () -> assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1"),
+                () -> assertThat(response.getBody().message()).isEqualTo("Batch queue is full, please retry")
+        );
+    }
+
+    @Test
+    void testDuplicateTransactionException(){
+
+        DuplicateTransactionException exception = new DuplicateTransactionException("Transactions were saved concurrently by another request, please retry");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleDuplicateTransactionException(exception);
+
+        assertAll(
+                () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT),
+                () -> assertThat(response.getBody().status()).isEqualTo(409),
+                () -> assertThat(response.getBody().message()).isEqualTo("Transactions were saved concurrently by another request, please retry")
         );
     }
 
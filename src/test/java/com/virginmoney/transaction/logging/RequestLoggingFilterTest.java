@@ -0,0 +1,60 @@
+package com.virginmoney.transaction.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class RequestLoggingFilterTest {
+
+    @Test
+    void doFilter_SampleRateOne_shouldMarkRequestSampledAndClearMdcAfterwards() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transaction/MyMonthlyDD");
+        request.addHeader("X-Request-Id", "req-1");
+        Map<String, String> mdcInsideChain = new HashMap<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> mdcInsideChain.putAll(MDC.getCopyOfContextMap()));
+
+        assertAll(
+                () -> assertThat(mdcInsideChain).containsEntry("requestId", "req-1"),
+                () -> assertThat(mdcInsideChain).containsEntry("sampled", "true"),
+                () -> assertThat(MDC.get("requestId")).isNull(),
+                () -> assertThat(MDC.get("sampled")).isNull()
+        );
+    }
+
+    @Test
+    void doFilter_SampleRateZero_shouldNotMarkRequestSampled() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter(0.0);
+        Map<String, String> mdcInsideChain = new HashMap<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/transaction/MyMonthlyDD"), new MockHttpServletResponse(),
+                (req, res) -> mdcInsideChain.putAll(MDC.getCopyOfContextMap()));
+
+        assertAll(
+                () -> assertThat(mdcInsideChain).containsKey("requestId"),
+                () -> assertThat(mdcInsideChain).doesNotContainKey("sampled")
+        );
+    }
+
+    @Test
+    void setDebugSampleRate_OutOfRange_shouldClampToValidFraction() {
+        RequestLoggingFilter filter = new RequestLoggingFilter(0.0);
+
+        filter.setDebugSampleRate(5);
+        double aboveRange = filter.getDebugSampleRate();
+        filter.setDebugSampleRate(-1);
+
+        assertAll(
+                () -> assertThat(aboveRange).isEqualTo(1.0),
+                () -> assertThat(filter.getDebugSampleRate()).isEqualTo(0.0)
+        );
+    }
+}
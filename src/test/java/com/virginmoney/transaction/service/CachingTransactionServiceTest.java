@@ -0,0 +1,88 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.CacheStatisticsDto;
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingTransactionServiceTest {
+
+    @Mock
+    private TransactionServiceImpl delegate;
+
+    private CategoryVersions categoryVersions;
+
+    private CachingTransactionService cachingService;
+
+    @BeforeEach
+    void setUp() {
+        categoryVersions = new CategoryVersions();
+        cachingService = new CachingTransactionService(delegate, categoryVersions, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void getTotalSpendByCategory_RepeatedCall_shouldBeServedFromCache() {
+        when(delegate.getTotalSpendByCategory("Groceries")).thenReturn(new BigDecimal("16.39"));
+
+        cachingService.getTotalSpendByCategory("Groceries");
+        BigDecimal totalSpend = cachingService.getTotalSpendByCategory("Groceries");
+
+        CacheStatisticsDto statistics = cachingService.getStatistics().get("totalSpend");
+        assertAll(
+                () -> assertThat(totalSpend).isEqualByComparingTo("16.39"),
+                () -> assertThat(statistics.hitCount()).isEqualTo(1),
+                () -> assertThat(statistics.missCount()).isEqualTo(1)
+        );
+        verify(delegate, times(1)).getTotalSpendByCategory("Groceries");
+    }
+
+    @Test
+    void saveTransactions_shouldEvictOnlySavedCategories() {
+        StatisticsDto statistics = new StatisticsDto(BigDecimal.valueOf(40), BigDecimal.valueOf(600), BigDecimal.valueOf(320));
+        when(delegate.getYearlyStatisticsByCategory("MyMonthlyDD", 2020)).thenReturn(statistics);
+        when(delegate.getYearlyStatisticsByCategory("Groceries", 2020)).thenReturn(statistics);
+        List<TransactionRequestDto> requests = List.of(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "direct_debit", new BigDecimal("600"), "MyMonthlyDD"));
+        when(delegate.saveTransactions(requests)).thenAnswer(invocation -> {
+            categoryVersions.recordSaved(Set.of("MyMonthlyDD"));
+            return new SaveResultDto(List.of(), 0);
+        });
+
+        cachingService.getYearlyStatisticsByCategory("MyMonthlyDD", 2020);
+        cachingService.getYearlyStatisticsByCategory("Groceries", 2020);
+        cachingService.saveTransactions(requests);
+        cachingService.getYearlyStatisticsByCategory("MyMonthlyDD", 2020);
+        cachingService.getYearlyStatisticsByCategory("Groceries", 2020);
+
+        verify(delegate, times(2)).getYearlyStatisticsByCategory("MyMonthlyDD", 2020);
+        verify(delegate, times(1)).getYearlyStatisticsByCategory("Groceries", 2020);
+    }
+
+    @Test
+    void getLatestByCategory_CategoryNotFound_shouldNotCacheFailure() {
+        when(delegate.getLatestByCategory("Vacation", 20)).thenThrow(new TransactionNotFound("No transactions found for the category : Vacation"));
+
+        assertThrows(TransactionNotFound.class, () -> cachingService.getLatestByCategory("Vacation", 20));
+        assertThrows(TransactionNotFound.class, () -> cachingService.getLatestByCategory("Vacation", 20));
+
+        verify(delegate, times(2)).getLatestByCategory("Vacation", 20);
+    }
+}
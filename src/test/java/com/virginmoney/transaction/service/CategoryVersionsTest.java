@@ -0,0 +1,62 @@
+package com.virginmoney.transaction.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CategoryVersionsTest {
+
+    private final CategoryVersions versions = new CategoryVersions();
+
+    @Test
+    void recordSaved_shouldNotifyListenersBeforeTheVersionMovesOn() {
+        CategoryVersions.Version before = versions.current("MyMonthlyDD");
+        List<CategoryVersions.Version> seenByListener = new ArrayList<>();
+        versions.onChange(categories -> seenByListener.add(versions.current("MyMonthlyDD")));
+
+        versions.recordSaved(Set.of("MyMonthlyDD"));
+
+        assertAll(
+                () -> assertThat(seenByListener).containsExactly(before),
+                () -> assertThat(versions.current("MyMonthlyDD").etag()).isNotEqualTo(before.etag()),
+                () -> assertThat(versions.current("Groceries")).isEqualTo(before)
+        );
+    }
+
+    @Test
+    void recordSaved_shouldWithholdLastModifiedUntilTheNextSecond() {
+        CategoryVersions.Version before = versions.current("MyMonthlyDD");
+
+        versions.recordSaved(Set.of("MyMonthlyDD"));
+
+        assertAll(
+                () -> assertThat(before.lastModified()).isNotNull(),
+                () -> assertThat(versions.current("MyMonthlyDD").lastModified()).isNull(),
+                () -> assertThat(versions.current("Groceries").lastModified()).isEqualTo(before.lastModified())
+        );
+    }
+
+    @Test
+    void recordSaved_InsideTransaction_shouldWaitForCommit() {
+        CategoryVersions.Version before = versions.current("MyMonthlyDD");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.recordSaved(Set.of("MyMonthlyDD"));
+            assertThat(versions.current("MyMonthlyDD")).isEqualTo(before);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(versions.current("MyMonthlyDD").etag()).isNotEqualTo(before.etag());
+    }
+}
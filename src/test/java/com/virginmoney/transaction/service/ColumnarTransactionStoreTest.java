@@ -0,0 +1,145 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionType;
+import com.virginmoney.transaction.repo.MonthlyAverageView;
+import com.virginmoney.transaction.repo.SpendStatisticsView;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnarTransactionStoreTest {
+
+    @Mock
+    private TransactionRepo transactionRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ColumnarTransactionStore columnarStore;
+
+    @BeforeEach
+    void setUp() {
+        columnarStore = new ColumnarTransactionStore(transactionRepo, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void load_RowsNewestFirst_shouldAnswerYearlyStatisticsFromColumns() {
+        loadNewestFirst(
+                transaction(3, "2021-10-28", 60000, "MyMonthlyDD"),
+                transaction(5, "2020-11-28", 4000, "MyMonthlyDD"),
+                transaction(2, "2020-10-30", 5000, "MyMonthlyDD"),
+                transaction(1, "2020-10-28", 60000, "MyMonthlyDD"),
+                transaction(6, "2020-05-01", 1200, "Groceries"));
+
+        SpendStatisticsView stats = columnarStore.findStatisticsByCategoryAndYear("MyMonthlyDD", 2020);
+
+        assertAll(
+                () -> assertThat(stats.getCount()).isEqualTo(3),
+                () -> assertThat(stats.getLowest()).isEqualTo(4000),
+                () -> assertThat(stats.getHighest()).isEqualTo(60000),
+                () -> assertThat(stats.getTotal()).isEqualTo(69000),
+                () -> assertThat(columnarStore.findStatisticsByCategoryAndYear("MyMonthlyDD", 2019).getCount()).isZero(),
+                () -> assertThat(columnarStore.containsCategory("Groceries")).isTrue(),
+                () -> assertThat(columnarStore.containsCategory("Vacation")).isFalse()
+        );
+    }
+
+    @Test
+    void findMonthlyAveragesByCategory_RowsAcrossMonths_shouldAverageEachMonth() {
+        loadNewestFirst(
+                transaction(3, "2021-10-28", 60000, "MyMonthlyDD"),
+                transaction(5, "2020-11-28", 4000, "MyMonthlyDD"),
+                transaction(2, "2020-10-30", 5000, "MyMonthlyDD"),
+                transaction(1, "2020-10-01", 60000, "MyMonthlyDD"));
+
+        List<MonthlyAverageView> averages = columnarStore.findMonthlyAveragesByCategory("MyMonthlyDD");
+
+        assertThat(averages)
+                .extracting(MonthlyAverageView::getYear, MonthlyAverageView::getMonth, MonthlyAverageView::getCount, MonthlyAverageView::getTotal)
+                .containsExactly(
+                        tuple(2020, 10, 2L, 65000L),
+                        tuple(2020, 11, 1L, 4000L),
+                        tuple(2021, 10, 1L, 60000L));
+    }
+
+    @Test
+    void append_RowsBeforeAndAfterLoadedDates_shouldKeepColumnsInDateOrder() {
+        loadNewestFirst(
+                transaction(2, "2020-10-30", 5000, "MyMonthlyDD"),
+                transaction(1, "2020-10-28", 60000, "MyMonthlyDD"));
+
+        columnarStore.append(List.of(
+                transaction(7, "2020-12-01", 1000, "MyMonthlyDD"),
+                transaction(8, "2019-12-31", 500, "MyMonthlyDD"),
+                transaction(9, "2020-01-01", 100, "MyMonthlyDD"),
+                transaction(10, "2020-02-02", 2000, "Vacation")));
+
+        SpendStatisticsView stats = columnarStore.findStatisticsByCategoryAndYear("MyMonthlyDD", 2020);
+
+        assertAll(
+                () -> assertThat(stats.getCount()).isEqualTo(4),
+                () -> assertThat(stats.getLowest()).isEqualTo(100),
+                () -> assertThat(columnarStore.findStatisticsByCategoryAndYear("MyMonthlyDD", 2019).getHighest()).isEqualTo(500),
+                () -> assertThat(columnarStore.findMonthlyAveragesByCategory("MyMonthlyDD"))
+                        .extracting(MonthlyAverageView::getMonth)
+                        .containsExactly(12, 1, 10, 12),
+                () -> assertThat(columnarStore.containsCategory("Vacation")).isTrue(),
+                () -> assertThat(columnarStore.rows()).isEqualTo(6),
+                () -> assertThat(columnarStore.footprintBytes()).isGreaterThanOrEqualTo(6 * 17)
+        );
+    }
+
+    @Test
+    void append_InsideTransaction_shouldApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            columnarStore.append(List.of(transaction(1, "2020-10-28", 60000, "MyMonthlyDD")));
+
+            assertThat(columnarStore.containsCategory("MyMonthlyDD")).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            assertThat(columnarStore.containsCategory("MyMonthlyDD")).isTrue();
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadNewestFirst(TransactionEntity... transactions) {
+        doAnswer(invocation -> {
+            Consumer<TransactionEntity> action = invocation.getArgument(0);
+            for (TransactionEntity transaction : transactions) {
+                action.accept(transaction);
+            }
+            return null;
+        }).when(transactionRepo).forEachLatest(any(Consumer.class));
+
+        columnarStore.load();
+    }
+
+    private static TransactionEntity transaction(long id, String date, long amountMinor, String category) {
+        return new TransactionEntity(id, Date.valueOf(date), "CYBG", TransactionType.CARD, amountMinor, Money.DEFAULT_CURRENCY, category, null);
+    }
+}
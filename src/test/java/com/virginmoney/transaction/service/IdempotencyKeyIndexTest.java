@@ -0,0 +1,85 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.repo.TransactionRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyIndexTest {
+
+    @Mock
+    private TransactionRepo transactionRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private IdempotencyKeyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new IdempotencyKeyIndex(transactionRepo, transactionManager, meterRegistry, 1000, 0.01, 100);
+    }
+
+    @Test
+    void findSaved_RecentlySavedKeys_shouldAnswerWithoutDatabase() {
+        index.recordSaved(List.of("gym", "rent"));
+
+        Set<String> saved = index.findSaved(List.of("gym", "rent"));
+
+        assertAll(
+                () -> assertThat(saved).containsExactlyInAnyOrder("gym", "rent"),
+                () -> assertThat(lookups("recent")).isEqualTo(2)
+        );
+        verifyNoInteractions(transactionRepo);
+    }
+
+    @Test
+    void findSaved_KeysNeverSaved_shouldBeClearedByTheFilter() {
+        Set<String> saved = index.findSaved(List.of("gym", "rent"));
+
+        assertAll(
+                () -> assertThat(saved).isEmpty(),
+                () -> assertThat(lookups("filtered")).isEqualTo(2)
+        );
+        verifyNoInteractions(transactionRepo);
+    }
+
+    @Test
+    void findSaved_KeysLoadedAtStartup_shouldBeCheckedInTheDatabase() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(0).accept("gym");
+            return null;
+        }).when(transactionRepo).forEachIdempotencyKey(any());
+        when(transactionRepo.findExistingIdempotencyKeys(List.of("gym"))).thenReturn(List.of("gym"));
+        index.load();
+
+        Set<String> saved = index.findSaved(List.of("gym", "rent"));
+
+        assertAll(
+                () -> assertThat(saved).containsExactly("gym"),
+                () -> assertThat(lookups("database_hit")).isEqualTo(1),
+                () -> assertThat(meterRegistry.get("transaction.idempotency.keys").gauge().value()).isEqualTo(1)
+        );
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("transaction.idempotency.lookups", "result", result).count();
+    }
+}
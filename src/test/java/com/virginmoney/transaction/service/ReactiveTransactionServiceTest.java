@@ -0,0 +1,83 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.repo.ReactiveTransactionRepo;
+import com.virginmoney.transaction.repo.SpendStatisticsView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+
+    @Mock
+    private ReactiveTransactionRepo transactionRepo;
+
+    @Mock
+    private TransactionService blockingService;
+
+    @Mock
+    private SpendStatisticsView statistics;
+
+    private ReactiveTransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new ReactiveTransactionService(transactionRepo, blockingService, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getYearlyStatisticsByCategory_ValidCategoryAndYear_shouldReturnStatistics() {
+        when(statistics.getCount()).thenReturn(2L);
+        when(statistics.getLowest()).thenReturn(4000L);
+        when(statistics.getHighest()).thenReturn(60000L);
+        when(statistics.getTotal()).thenReturn(64000L);
+        when(transactionRepo.findStatisticsByCategoryAndYear("MyMonthlyDD", 2020)).thenReturn(Mono.just(statistics));
+        when(transactionRepo.existsByCategory("MyMonthlyDD")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(transactionService.getYearlyStatisticsByCategory("MyMonthlyDD", 2020))
+                .expectNext(StatisticsDto.builder()
+                        .lowest_spend(new BigDecimal("40.00"))
+                        .highest_spend(new BigDecimal("600.00"))
+                        .average_spend(new BigDecimal("320.00"))
+                        .build())
+                .verifyComplete();
+    }
+
+    @Test
+    void streamLatestByCategory_UnknownCategory_shouldErrorWithoutReadingRows() {
+        when(transactionRepo.existsByCategory("vacation")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(transactionService.streamLatestByCategory("vacation"))
+                .expectErrorSatisfies(exception -> assertThat(exception)
+                        .isInstanceOf(TransactionNotFound.class)
+                        .hasMessage("No transactions found for the category : vacation"))
+                .verify();
+        verify(transactionRepo, never()).streamLatestByCategory(anyString());
+    }
+
+    @Test
+    void getLatestByCategory_DatabaseError_shouldReturnDatabaseFetchException() {
+        when(transactionRepo.findLatestByCategory("MyMonthlyDD", 20))
+                .thenReturn(Flux.error(new IllegalStateException("connection closed")));
+
+        StepVerifier.create(transactionService.getLatestByCategory("MyMonthlyDD", 20))
+                .expectErrorSatisfies(exception -> assertThat(exception)
+                        .isInstanceOf(DatabaseFetchException.class)
+                        .hasMessage("Error fetching transactions from database"))
+                .verify();
+    }
+}
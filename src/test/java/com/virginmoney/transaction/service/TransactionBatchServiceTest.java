@@ -0,0 +1,194 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.BatchResultDto;
+import com.virginmoney.transaction.dto.StatisticsDto;
+import com.virginmoney.transaction.exception.BatchQueueFullException;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.InvalidQueryException;
+import com.virginmoney.transaction.exception.TransactionNotFound;
+import com.virginmoney.transaction.model.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private TransactionBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new TransactionBatchService(transactionService, new SimpleMeterRegistry(), 4, 3, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.destroy();
+    }
+
+    @Test
+    void getTotalSpendByCategories_OneCategoryNotFound_shouldReturnOtherResultsAndTheError() {
+        when(transactionService.getTotalSpendByCategory("MyMonthlyDD"))
+                .thenReturn(new BigDecimal("1240.00"));
+        when(transactionService.getTotalSpendByCategory("vacation"))
+                .thenThrow(new TransactionNotFound("No transactions found for the category : vacation"));
+        when(transactionService.getTotalSpendByCategory("Groceries"))
+                .thenThrow(new DatabaseFetchException("Error fetching transactions from database"));
+
+        BatchResultDto<BigDecimal> result = batchService.getTotalSpendByCategories(List.of("MyMonthlyDD", "vacation", "Groceries", "MyMonthlyDD"));
+
+        assertAll(
+                () -> assertThat(result.results()).containsOnlyKeys("MyMonthlyDD"),
+                () -> assertThat(result.results().get("MyMonthlyDD")).isEqualByComparingTo("1240"),
+                () -> assertThat(result.errors()).containsExactly(
+                        entry("vacation", new ErrorResponse(404, "No transactions found for the category : vacation")),
+                        entry("Groceries", new ErrorResponse(500, "Error fetching transactions from database"))),
+                () -> verify(transactionService, times(1)).getTotalSpendByCategory("MyMonthlyDD")
+        );
+    }
+
+    @Test
+    void getYearlyStatisticsByCategories_ManyCategories_shouldRunCallsConcurrently() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(transactionService.getYearlyStatisticsByCategory(anyString(), eq(2020))).thenAnswer(invocation -> {
+            allStarted.countDown();
+            // only returns once every category is in flight at the same time
+            assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return StatisticsDto.builder().build();
+        });
+
+        BatchResultDto<StatisticsDto> result = batchService.getYearlyStatisticsByCategories(List.of("a", "b", "c"), 2020);
+
+        assertAll(
+                () -> assertThat(result.results()).containsOnlyKeys("a", "b", "c"),
+                () -> assertThat(result.errors()).isEmpty()
+        );
+    }
+
+    @Test
+    void getMonthlyAverageByCategories_SlowCategory_shouldReportTimeout() {
+        batchService.destroy();
+        batchService = new TransactionBatchService(transactionService, new SimpleMeterRegistry(), 2, 3, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.getMonthlyAverageByCategory("slow")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyMap();
+        });
+        when(transactionService.getMonthlyAverageByCategory("fast"))
+                .thenReturn(Collections.emptyMap());
+
+        try {
+            BatchResultDto<?> result = batchService.getMonthlyAverageByCategories(List.of("slow", "fast"));
+
+            assertAll(
+                    () -> assertThat(result.results()).containsOnlyKeys("fast"),
+                    () -> assertThat(result.errors().get("slow").status()).isEqualTo(504)
+            );
+        }
+        finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getMonthlyAverageByCategories_Timeout_shouldCancelQueuedCallsWithoutInterruptingTheRunningOne() throws InterruptedException {
+        batchService.destroy();
+        batchService = new TransactionBatchService(transactionService, new SimpleMeterRegistry(), 1, 3, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        when(transactionService.getMonthlyAverageByCategory("slow")).thenAnswer(invocation -> {
+            // an interrupt would end the wait early and skip the countDown
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            finished.countDown();
+            return Collections.emptyMap();
+        });
+
+        BatchResultDto<?> result;
+        try {
+            result = batchService.getMonthlyAverageByCategories(List.of("slow", "queued"));
+        }
+        finally {
+            release.countDown();
+        }
+
+        assertAll(
+                () -> assertThat(result.errors().get("slow").status()).isEqualTo(504),
+                () -> assertThat(result.errors().get("queued").status()).isEqualTo(504),
+                () -> assertThat(finished.await(1, TimeUnit.SECONDS)).isTrue(),
+                () -> verify(transactionService, after(300).never()).getMonthlyAverageByCategory("queued")
+        );
+    }
+
+    @Test
+    void getTotalSpendByCategories_QueueFull_shouldThrowBatchQueueFullAndCancelItsQueuedCalls() throws Exception {
+        batchService.destroy();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        batchService = new TransactionBatchService(transactionService, meterRegistry, 1, 2, Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.getTotalSpendByCategory("slow")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return BigDecimal.ONE;
+        });
+        when(transactionService.getTotalSpendByCategory("queued")).thenReturn(BigDecimal.ONE);
+
+        // the one thread runs "slow" and "queued" waits, leaving room for one more call in the queue
+        CompletableFuture<BatchResultDto<BigDecimal>> first = CompletableFuture.supplyAsync(
+                () -> batchService.getTotalSpendByCategories(List.of("slow", "queued")));
+        awaitQueued(meterRegistry, 1);
+
+        try {
+            Exception exception = assertThrows(BatchQueueFullException.class,
+                    () -> batchService.getTotalSpendByCategories(List.of("a", "b")));
+
+            assertThat(exception.getMessage()).isEqualTo("Batch queue is full, please retry");
+        }
+        finally {
+            release.countDown();
+        }
+        assertAll(
+                () -> assertThat(first.get(5, TimeUnit.SECONDS).results()).containsOnlyKeys("slow", "queued"),
+                () -> verify(transactionService, never()).getTotalSpendByCategory("a"),
+                () -> verify(transactionService, never()).getTotalSpendByCategory("b")
+        );
+    }
+
+    @Test
+    void getTotalSpendByCategories_TooManyCategories_shouldThrowInvalidQuery() {
+        Exception exception = assertThrows(InvalidQueryException.class,
+                () -> batchService.getTotalSpendByCategories(List.of("a", "b", "c", "d")));
+
+        assertThat(exception.getMessage()).isEqualTo("At most 3 categories are allowed per batch");
+        verifyNoInteractions(transactionService);
+    }
+
+    private static void awaitQueued(MeterRegistry meterRegistry, int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("executor.queued").gauge().value() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.virginmoney.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.dto.ImportFailureDto;
+import com.virginmoney.transaction.dto.ImportSummaryDto;
+import com.virginmoney.transaction.dto.RejectedRowDto;
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Captor
+    private ArgumentCaptor<List<TransactionRequestDto>> chunk;
+
+    private TransactionImportService importService;
+
+    private final List<Integer> savedChunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new TransactionImportService(transactionService, new ObjectMapper(), 2, 10, 3);
+    }
+
+    @Test
+    void importNdjson_InvalidRows_shouldSaveValidRowsInChunksAndReportRejections() throws IOException {
+        recordChunkSizes();
+        String body = """
+                {"date": "28/Oct/2020", "vendor": "PureGym", "type": "direct_debit", "amount": 40, "category": "MyMonthlyDD"}
+                {"date": "01/Nov/2020", "vendor": "Morrisons", "type": "card", "amount": 10.40, "category": "Groceries"}
+
+                {"date": "01/Oct/2020", "vendor": "M&S", "type": "cheque", "amount": 5.99, "category": "Groceries"}
+                not json
+                {"date": "28/Oct/2021", "vendor": "CYBG", "type": "direct_debit", "amount": 600, "category": "MyMonthlyDD"}
+                """;
+
+        ImportSummaryDto summary = importService.importNdjson(stream(body));
+
+        assertAll(
+                () -> assertThat(summary.accepted()).isEqualTo(3),
+                () -> assertThat(summary.deduplicated()).isZero(),
+                () -> assertThat(summary.rejected()).isEqualTo(2),
+                () -> assertThat(summary.rejectedRows()).extracting(RejectedRowDto::line).containsExactly(4L, 5L),
+                () -> assertThat(summary.rejectedRows().get(0).reason()).isEqualTo("unknown type: cheque"),
+                () -> assertThat(savedChunkSizes).containsExactly(2, 1)
+        );
+    }
+
+    @Test
+    void importCsv_ValidRows_shouldParseQuotedFieldsAndSkipHeader() throws IOException {
+        String body = """
+                date,vendor,type,amount,category
+                28/Oct/2020,"Marks & Spencer, Leeds",card,12.50,Groceries
+                31/Feb/2020,ALDI,card,3.00,Groceries
+                """;
+        when(transactionService.saveTransactions(anyList())).thenReturn(saved(0));
+
+        ImportSummaryDto summary = importService.importCsv(stream(body));
+
+        verify(transactionService, times(1)).saveTransactions(chunk.capture());
+
+        assertAll(
+                () -> assertThat(summary.accepted()).isEqualTo(1),
+                () -> assertThat(summary.rejectedRows()).containsExactly(new RejectedRowDto(3, "date must be in dd/MMM/yyyy format")),
+                () -> assertThat(chunk.getValue()).containsExactly(new TransactionRequestDto(
+                        LocalDate.parse("2020-10-28"), "Marks & Spencer, Leeds", "card", new BigDecimal("12.50"), "Groceries"))
+        );
+    }
+
+    @Test
+    void importCsv_QuotedLineBreak_shouldKeepItInTheField() throws IOException {
+        String body = "date,vendor,type,amount,category\n"
+                + "28/Oct/2020,\"Marks & Spencer\nLeeds\",card,12.50,Groceries\n"
+                + "29/Oct/2020,ALDI,cheque,3.00,Groceries\n";
+        when(transactionService.saveTransactions(anyList())).thenReturn(saved(0));
+
+        ImportSummaryDto summary = importService.importCsv(stream(body));
+
+        verify(transactionService).saveTransactions(chunk.capture());
+        assertAll(
+                () -> assertThat(chunk.getValue()).extracting(TransactionRequestDto::vendor).containsExactly("Marks & Spencer\nLeeds"),
+                () -> assertThat(summary.rejectedRows()).containsExactly(new RejectedRowDto(4, "unknown type: cheque"))
+        );
+    }
+
+    @Test
+    void importCsv_UnterminatedQuote_shouldRejectOnlyItsOwnLine() throws IOException {
+        String body = "date,vendor,type,amount,category\n"
+                + "28/Oct/2020,\"Marks & Spencer,card,12.50,Groceries\n"
+                + "29/Oct/2020,ALDI,card,3.00,Groceries\n";
+        when(transactionService.saveTransactions(anyList())).thenReturn(saved(0));
+
+        ImportSummaryDto summary = importService.importCsv(stream(body));
+
+        verify(transactionService).saveTransactions(chunk.capture());
+        assertAll(
+                () -> assertThat(summary.rejectedRows()).containsExactly(new RejectedRowDto(2, "unterminated quoted field")),
+                () -> assertThat(chunk.getValue()).extracting(TransactionRequestDto::vendor).containsExactly("ALDI")
+        );
+    }
+
+    @Test
+    void importCsv_StrayQuoteBeforeValidRows_shouldRejectOnlyItsLineAndSaveTheRest() throws IOException {
+        recordChunkSizes();
+        String body = "date,vendor,type,amount,category\n"
+                + "28/Oct/2020,Joe\"s Cafe,card,4.20,Dining\n"
+                + "29/Oct/2020,ALDI,card,3.00,Groceries\n"
+                + "30/Oct/2020,Tesco,card,7.10,Groceries\n"
+                + "31/Oct/2020,Shell,card,55.00,Fuel\n"
+                + "01/Nov/2020,ALDI,cheque,3.00,Groceries\n"
+                + "02/Nov/2020,\"Marks & Spencer\nLeeds\",card,12.50,Groceries\n";
+
+        ImportSummaryDto summary = importService.importCsv(stream(body));
+
+        assertAll(
+                () -> assertThat(summary.accepted()).isEqualTo(4),
+                () -> assertThat(summary.rejectedRows()).containsExactly(
+                        new RejectedRowDto(2, "unterminated quoted field"),
+                        new RejectedRowDto(6, "unknown type: cheque")),
+                () -> assertThat(savedChunkSizes).containsExactly(2, 2)
+        );
+    }
+
+    @Test
+    void importCsv_WrongHeader_shouldRejectTheFile() {
+        String body = """
+                date,amount,vendor,type,category
+                28/Oct/2020,12.50,ALDI,card,Groceries
+                """;
+
+        Exception exception = assertThrows(InvalidTransactionException.class, () -> importService.importCsv(stream(body)));
+
+        assertThat(exception.getMessage()).isEqualTo("CSV header must be date,vendor,type,amount,category but was date,amount,vendor,type,category");
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void importNdjson_LaterChunkFails_shouldReportCommittedRowsAndFailedLines() throws IOException {
+        when(transactionService.saveTransactions(anyList()))
+                .thenReturn(saved(0))
+                .thenThrow(new DatabaseBusyException("Database is busy, please retry"));
+        String body = """
+                {"date": "28/Oct/2020", "vendor": "PureGym", "type": "direct_debit", "amount": 40, "category": "MyMonthlyDD"}
+                {"date": "01/Nov/2020", "vendor": "Morrisons", "type": "card", "amount": 10.40, "category": "Groceries"}
+                {"date": "02/Nov/2020", "vendor": "ALDI", "type": "card", "amount": 3, "category": "Groceries"}
+                {"date": "28/Oct/2021", "vendor": "CYBG", "type": "direct_debit", "amount": 600, "category": "MyMonthlyDD"}
+                {"date": "29/Oct/2021", "vendor": "CYBG", "type": "direct_debit", "amount": 600, "category": "MyMonthlyDD"}
+                """;
+
+        ImportSummaryDto summary = importService.importNdjson(stream(body));
+
+        assertAll(
+                () -> assertThat(summary.accepted()).isEqualTo(2),
+                () -> assertThat(summary.failure()).isEqualTo(new ImportFailureDto(3, 4, 503, "Database is busy, please retry"))
+        );
+        verify(transactionService, times(2)).saveTransactions(anyList());
+    }
+
+    @Test
+    void importNdjson_RowsAlreadySaved_shouldCountThemDeduplicated() throws IOException {
+        String body = """
+                {"date": "28/Oct/2020", "vendor": "PureGym", "type": "direct_debit", "amount": 40, "category": "MyMonthlyDD"}
+                {"date": "28/Oct/2020", "vendor": "PureGym", "type": "direct_debit", "amount": 40, "category": "MyMonthlyDD"}
+                """;
+        when(transactionService.saveTransactions(anyList())).thenReturn(saved(1));
+
+        ImportSummaryDto summary = importService.importNdjson(stream(body));
+
+        assertAll(
+                () -> assertThat(summary.accepted()).isEqualTo(1),
+                () -> assertThat(summary.deduplicated()).isEqualTo(1),
+                () -> assertThat(summary.rejected()).isZero(),
+                () -> assertThat(summary.failure()).isNull()
+        );
+    }
+
+    private void recordChunkSizes() {
+        when(transactionService.saveTransactions(anyList())).thenAnswer(invocation -> {
+            savedChunkSizes.add(invocation.<List<?>>getArgument(0).size());
+            return saved(0);
+        });
+    }
+
+    private static SaveResultDto saved(int deduplicated) {
+        return new SaveResultDto(List.of(), deduplicated);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
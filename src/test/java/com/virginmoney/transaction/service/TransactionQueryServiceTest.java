@@ -0,0 +1,129 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.TransactionQueryDto;
+import com.virginmoney.transaction.dto.TransactionQueryResultDto;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.InvalidQueryException;
+import com.virginmoney.transaction.model.TransactionType;
+import com.virginmoney.transaction.repo.AggregationDimension;
+import com.virginmoney.transaction.repo.AggregationMetric;
+import com.virginmoney.transaction.repo.AggregationQuery;
+import com.virginmoney.transaction.repo.AggregationRow;
+import com.virginmoney.transaction.repo.TransactionAggregationRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionQueryServiceTest {
+
+    @Mock
+    private TransactionAggregationRepo aggregationRepo;
+
+    private TransactionQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        queryService = new TransactionQueryService(aggregationRepo, new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void query_ValidRequest_shouldPassWhitelistedQueryAndConvertAmounts() {
+        when(aggregationRepo.aggregate(any())).thenReturn(List.of(
+                new AggregationRow(List.of("Groceries", "2020-10"), List.of(2L, 1639L, 820L)),
+                new AggregationRow(List.of("MyMonthlyDD", "2020-10"), List.of(2L, 64000L, 60000L))));
+
+        TransactionQueryDto request = new TransactionQueryDto(List.of("Groceries", "MyMonthlyDD"),
+                LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31), List.of("card", "DIRECT_DEBIT"), null,
+                List.of("category", "MONTH"), List.of("count", "sum", "p90"));
+
+        TransactionQueryResultDto result = queryService.query(request);
+
+        ArgumentCaptor<AggregationQuery> query = ArgumentCaptor.forClass(AggregationQuery.class);
+        verify(aggregationRepo).aggregate(query.capture());
+        assertAll(
+                () -> assertThat(query.getValue().groupBy()).containsExactly(AggregationDimension.CATEGORY, AggregationDimension.MONTH),
+                () -> assertThat(query.getValue().metrics()).containsExactly(AggregationMetric.COUNT, AggregationMetric.SUM, AggregationMetric.P90),
+                () -> assertThat(query.getValue().types()).containsExactly(TransactionType.CARD, TransactionType.DIRECT_DEBIT),
+                () -> assertThat(query.getValue().vendors()).isEmpty(),
+                () -> assertThat(query.getValue().maxGroups()).isEqualTo(2),
+                () -> assertThat(result.groupBy()).containsExactly("category", "month"),
+                () -> assertThat(result.metrics()).containsExactly("count", "sum", "p90"),
+                () -> assertThat(result.rows().get(0)).containsExactly(
+                        Map.entry("category", "Groceries"), Map.entry("month", "2020-10"), Map.entry("count", 2L),
+                        Map.entry("sum", new BigDecimal("16.39")), Map.entry("p90", new BigDecimal("8.20")))
+        );
+    }
+
+    @Test
+    void query_NoMetrics_shouldDefaultToCountSumAndAverage() {
+        when(aggregationRepo.aggregate(any())).thenReturn(List.of());
+
+        TransactionQueryResultDto result = queryService.query(new TransactionQueryDto(null, null, null, null, null, null, null));
+
+        assertAll(
+                () -> assertThat(result.groupBy()).isEmpty(),
+                () -> assertThat(result.metrics()).containsExactly("count", "sum", "avg"),
+                () -> assertThat(result.rows()).isEmpty()
+        );
+    }
+
+    @Test
+    void query_UnknownDimension_shouldThrowInvalidQueryWithoutQuerying() {
+        TransactionQueryDto request = new TransactionQueryDto(null, null, null, null, null,
+                List.of("category; DROP TABLE transaction"), null);
+
+        Exception exception = assertThrows(InvalidQueryException.class, () -> queryService.query(request));
+
+        assertThat(exception.getMessage()).isEqualTo("Unknown group-by dimension : category; DROP TABLE transaction, " +
+                "expected one of [category, vendor, type, year, month]");
+        verifyNoInteractions(aggregationRepo);
+    }
+
+    @Test
+    void query_FromAfterTo_shouldThrowInvalidQuery() {
+        TransactionQueryDto request = new TransactionQueryDto(null, LocalDate.of(2021, 1, 1), LocalDate.of(2020, 1, 1),
+                null, null, null, null);
+
+        assertThrows(InvalidQueryException.class, () -> queryService.query(request));
+        verifyNoInteractions(aggregationRepo);
+    }
+
+    @Test
+    void query_MoreGroupsThanLimit_shouldThrowInvalidQuery() {
+        when(aggregationRepo.aggregate(any())).thenReturn(List.of(
+                new AggregationRow(List.of("a"), List.of(1L)),
+                new AggregationRow(List.of("b"), List.of(1L)),
+                new AggregationRow(List.of("c"), List.of(1L))));
+
+        TransactionQueryDto request = new TransactionQueryDto(null, null, null, null, null, List.of("vendor"), List.of("count"));
+
+        Exception exception = assertThrows(InvalidQueryException.class, () -> queryService.query(request));
+
+        assertThat(exception.getMessage()).isEqualTo("Query matches more than 2 groups, narrow the filters or group-by");
+    }
+
+    @Test
+    void query_DBIssue_shouldThrowDatabaseFetchException() {
+        when(aggregationRepo.aggregate(any())).thenThrow(new RuntimeException("connection error"));
+
+        TransactionQueryDto request = new TransactionQueryDto(null, null, null, null, null, null, null);
+
+        assertThrows(DatabaseFetchException.class, () -> queryService.query(request));
+    }
+}
@@ -1,31 +1,49 @@
 package com.virginmoney.transaction.service;
 
 
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SpendDistributionDto;
 import com.virginmoney.transaction.dto.StatisticsDto;
 import com.virginmoney.transaction.dto.TransactionDto;
+import com.virginmoney.transaction.dto.TransactionPageDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.mapper.TransactionMapper;
+import com.virginmoney.transaction.model.Money;
 import com.virginmoney.transaction.model.TransactionType;
 import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.DuplicateTransactionException;
+import com.virginmoney.transaction.exception.InvalidCursorException;
+import com.virginmoney.transaction.exception.InvalidTransactionException;
 import com.virginmoney.transaction.exception.TransactionNotFound;
 import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import com.virginmoney.transaction.repo.MonthlyAverageView;
+import com.virginmoney.transaction.repo.SpendStatisticsView;
 import com.virginmoney.transaction.repo.TransactionRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.math.BigDecimal;
 import java.sql.Date;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceImplTest {
@@ -33,26 +51,45 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionRepo transactionRepo;
 
+    @Mock
+    private CategoryMonthlySummaryRepo summaryRepo;
+
+    @Mock
+    private TransactionSummaryService summaryService;
+
+    @Mock
+    private TransactionSketchService sketchService;
+
+    @Mock
+    private IdempotencyKeyIndex idempotencyKeys;
+
+    @Mock
+    private CategoryVersions categoryVersions;
+
     private  TransactionServiceImpl transactionService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private List<TransactionEntity> allTransactions;
 
     @BeforeEach
     void setUp() throws ParseException {
-        transactionService = new TransactionServiceImpl(transactionRepo);
+        meterRegistry = new SimpleMeterRegistry();
+        transactionService = new TransactionServiceImpl(transactionRepo, summaryRepo, summaryService, sketchService,
+                meterRegistry, Optional.empty(), idempotencyKeys, categoryVersions);
 
         SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MMM/yyyy");
         allTransactions = Arrays.asList(
                 new TransactionEntity(1, new Date(dateFormat.parse("28/Oct/2020").getTime()), "CYBG",
-                        TransactionType.CARD, 600, "MyMonthlyDD"),
+                        TransactionType.CARD, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null),
                 new TransactionEntity(2, new Date(dateFormat.parse("30/Oct/2020").getTime()), "Morrisons",
-                        TransactionType.INTERNET, 54.6, "MyMonthlyDD"),
+                        TransactionType.INTERNET, 5460L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null),
                 new TransactionEntity(3, new Date(dateFormat.parse("28/Oct/2021").getTime()), "CYBG",
-                        TransactionType.CARD, 600, "MyMonthlyDD"),
+                        TransactionType.CARD, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null),
                 new TransactionEntity(4, new Date(dateFormat.parse("04/Apr/2021").getTime()), "ALDI",
-                        TransactionType.BANK_TRANSFER, 428, "MyMonthlyDD"),
+                        TransactionType.BANK_TRANSFER, 42800L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null),
                 new TransactionEntity(5, new Date(dateFormat.parse("28/Nov/2020").getTime()), "PureGym",
-                        TransactionType.DIRECT_DEBIT, 40, "MyMonthlyDD"));
+                        TransactionType.DIRECT_DEBIT, 4000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null));
         // MyMonthlyDD - 2020 - statistics : min - 40 , max - 600, avg - 231.533.
           }
 
@@ -60,9 +97,9 @@ class TransactionServiceImplTest {
     void getLatestByCategory_NoTransactionForCategory_shouldthrowException(){
         String category = "Vacation";
 
-        when(transactionRepo.findByCategory("Vacation")).thenReturn(Optional.of(new ArrayList<TransactionEntity>()));
+        when(transactionRepo.findLatestByCategory("Vacation", Limit.of(20))).thenReturn(new ArrayList<TransactionEntity>());
 
-        Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getLatestByCategory(category));
+        Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getLatestByCategory(category, 20));
 
         assertThat(exception.getMessage()).isEqualTo("No transactions found for the category : Vacation");
 
@@ -72,26 +109,74 @@ class TransactionServiceImplTest {
     void getLatestByCategory_TransactionFound_shouldReturnTransactionRecords()  {
         String category = "MyMonthlyDD";
 
-        when(transactionRepo.findByCategory("MyMonthlyDD")).thenReturn(Optional.of(allTransactions));
+        when(transactionRepo.findLatestByCategory("MyMonthlyDD", Limit.of(20))).thenReturn(allTransactions);
 
-        ResponseEntity<List<TransactionDto>> response = transactionService.getLatestByCategory(category);
+        List<TransactionDto> result = transactionService.getLatestByCategory(category, 20);
 
-        List<TransactionDto> result = response.getBody();
         assertAll(
-                () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK),
-                () -> assertThat(response.getBody()).isNotEmpty(),
-                () -> assertThat(response.getBody()).hasSize(5),
-                () -> assertThat(result.get(0).amount()).isEqualTo(600)
+                () -> assertThat(result).isNotEmpty(),
+                () -> assertThat(result).hasSize(5),
+                () -> assertThat(result.get(0).amount()).isEqualTo("600.00"),
+                () -> assertThat(meterRegistry.summary("transaction.rows.returned", "query", "latest").totalAmount()).isEqualTo(5)
         );
 
     }
 
+    @Test
+    void getLatestByCategory_LimitAboveMaximum_shouldCapRowsFetched()  {
+        String category = "MyMonthlyDD";
+
+        when(transactionRepo.findLatestByCategory(category, Limit.of(1000))).thenReturn(allTransactions);
+
+        List<TransactionDto> response = transactionService.getLatestByCategory(category, 100000);
+
+        assertThat(response).hasSize(5);
+        verify(transactionRepo, times(1)).findLatestByCategory(category, Limit.of(1000));
+    }
+
+    @Test
+    void getPageByCategory_MoreRowsThanLimit_shouldReturnPageWithNextCursor() {
+        String category = "MyMonthlyDD";
+
+        when(transactionRepo.findLatestByCategory(category, Limit.of(3))).thenReturn(allTransactions.subList(0, 3));
+
+        TransactionPageDto page = transactionService.getPageByCategory(category, 2, null);
+
+        assertAll(
+                () -> assertThat(page.transactions()).extracting(TransactionDto::id).containsExactly(1L, 2L),
+                () -> assertThat(page.nextCursor()).isEqualTo(new TransactionCursor(allTransactions.get(1).getDate(), 2).encode())
+        );
+    }
+
+    @Test
+    void getPageByCategory_WithCursor_shouldContinueAfterCursorPosition() {
+        String category = "MyMonthlyDD";
+        Date date = allTransactions.get(1).getDate();
+        String cursor = new TransactionCursor(date, 2).encode();
+
+        when(transactionRepo.findLatestByCategoryBefore(category, date, 2, Limit.of(3))).thenReturn(allTransactions.subList(2, 4));
+
+        TransactionPageDto response = transactionService.getPageByCategory(category, 2, cursor);
+
+        assertAll(
+                () -> assertThat(response.transactions()).extracting(TransactionDto::id).containsExactly(3L, 4L),
+                () -> assertThat(response.nextCursor()).isNull()
+        );
+    }
+
+    @Test
+    void getPageByCategory_InvalidCursor_shouldThrowException() {
+        Exception exception = assertThrows(InvalidCursorException.class, () -> transactionService.getPageByCategory("MyMonthlyDD", 2, "not-a-cursor"));
+
+        assertThat(exception.getMessage()).isEqualTo("Invalid cursor : not-a-cursor");
+    }
+
     @Test
     void getTotalSpendByCategory_NoTransactionCategory_shouldThrowException() {
 
         String category = "Vacation";
 
-        when(transactionRepo.findByCategory("Vacation")).thenReturn(Optional.of(new ArrayList<TransactionEntity>()));
+        when(summaryRepo.sumMinorByCategory("Vacation")).thenReturn(Optional.empty());
         Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getTotalSpendByCategory(category));
 
         assertThat(exception.getMessage()).isEqualTo("No transactions found for the category : Vacation");
@@ -103,14 +188,13 @@ class TransactionServiceImplTest {
 
         String category = "MyMonthlyDD";
 
-        when(transactionRepo.findByCategory("MyMonthlyDD")).thenReturn(Optional.of(allTransactions));
+        when(summaryRepo.sumMinorByCategory("MyMonthlyDD")).thenReturn(Optional.of(172260L));
 
-        ResponseEntity<Double> response = transactionService.getTotalSpendByCategory(category);
+        BigDecimal response = transactionService.getTotalSpendByCategory(category);
 
         assertAll(
-                () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK),
-                () -> assertThat(response.getBody()).isNotNull(),
-                () -> assertThat(response.getBody()).isEqualTo(1722.6)
+                () -> assertThat(response).isNotNull(),
+                () -> assertThat(response).isEqualByComparingTo("1722.60")
         );
 
     }
@@ -118,7 +202,7 @@ class TransactionServiceImplTest {
     void getMonthlyAverageByCategory_NoTransactionCategory_shouldThrowException() {
         String category = "Vacation";
 
-        when(transactionRepo.findByCategory("Vacation")).thenReturn(Optional.of(new ArrayList<TransactionEntity>()));
+        when(summaryRepo.findMonthlyAveragesByCategory("Vacation")).thenReturn(new ArrayList<>());
         Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getMonthlyAverageByCategory(category));
 
         assertThat(exception.getMessage()).isEqualTo("No transactions found for the category : Vacation");
@@ -130,17 +214,18 @@ class TransactionServiceImplTest {
 
         String category = "MyMonthlyDD";
 
-        when(transactionRepo.findByCategory("MyMonthlyDD")).thenReturn(Optional.of(allTransactions));
+        when(summaryRepo.findMonthlyAveragesByCategory("MyMonthlyDD")).thenReturn(Arrays.asList(
+                new MonthlyAverage(2020, 10, 2, 65460),
+                new MonthlyAverage(2020, 11, 1, 4000),
+                new MonthlyAverage(2021, 4, 1, 42800),
+                new MonthlyAverage(2021, 10, 1, 60000)));
 
-        ResponseEntity<Map<String, Double>> response = transactionService.getMonthlyAverageByCategory(category);
-
-        Map<String, Double> result = response.getBody();
+        Map<String, BigDecimal> result = transactionService.getMonthlyAverageByCategory(category);
 
         assertAll(
-                () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK),
-                () -> assertThat(response.getBody()).isNotEmpty(),
+                () -> assertThat(result).isNotEmpty(),
                 () -> assertThat(result.keySet()).hasSize(4),
-                () -> assertThat(result).containsEntry("OCTOBER_2020", 327.3)
+                () -> assertThat(result).containsEntry("OCTOBER_2020", new BigDecimal("327.30"))
         );
 
     }
@@ -151,7 +236,8 @@ class TransactionServiceImplTest {
         String category = "Vacation";
         int year = 2020;
 
-        when(transactionRepo.findByCategory("Vacation")).thenReturn(Optional.of(new ArrayList<TransactionEntity>()));
+        when(summaryRepo.findStatisticsByCategoryAndYear("Vacation", year)).thenReturn(new SpendStatistics(0, null, null, null));
+        when(summaryRepo.existsByIdCategory("Vacation")).thenReturn(false);
         Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getYearlyStatisticsByCategory(category, year));
 
         assertThat(exception.getMessage()).isEqualTo("No transactions found for the category : Vacation");
@@ -164,7 +250,8 @@ class TransactionServiceImplTest {
         String category = "MyMonthlyDD";
         int year = 2022;
 
-        when(transactionRepo.findByCategory("MyMonthlyDD")).thenReturn(Optional.of(allTransactions));
+        when(summaryRepo.findStatisticsByCategoryAndYear("MyMonthlyDD", year)).thenReturn(new SpendStatistics(0, null, null, null));
+        when(summaryRepo.existsByIdCategory("MyMonthlyDD")).thenReturn(true);
         Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getYearlyStatisticsByCategory(category, year));
 
         assertThat(exception.getMessage()).isEqualTo("No transactions found for the category: MyMonthlyDD in 2022");
@@ -176,28 +263,237 @@ class TransactionServiceImplTest {
         String category = "MyMonthlyDD";
         int year = 2020;
 
-        when(transactionRepo.findByCategory("MyMonthlyDD")).thenReturn(Optional.of(allTransactions));
-        ResponseEntity<StatisticsDto> response = transactionService.getYearlyStatisticsByCategory(category, year);
+        when(summaryRepo.findStatisticsByCategoryAndYear("MyMonthlyDD", year)).thenReturn(new SpendStatistics(3, 4000L, 60000L, 69460L));
+        StatisticsDto response = transactionService.getYearlyStatisticsByCategory(category, year);
 
 
         assertAll(
-                () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK),
-                () -> assertThat(response.getBody()).isNotNull(),
-                () -> assertThat(response.getBody().average_spend()).isEqualTo(231.53),
-                () -> assertThat(response.getBody().lowest_spend()).isEqualTo(40.0),
-                () -> assertThat(response.getBody().highest_spend()).isEqualTo(600.0)
+                () -> assertThat(response).isNotNull(),
+                () -> assertThat(response.average_spend()).isEqualByComparingTo("231.53"),
+                () -> assertThat(response.lowest_spend()).isEqualByComparingTo("40"),
+                () -> assertThat(response.highest_spend()).isEqualByComparingTo("600")
                 );
 
     }
 
+    @Test
+    void getYearlyStatisticsByCategory_ColumnarStoreEnabled_shouldNotQuerySummary() {
+        ColumnarTransactionStore columnarStore = mock(ColumnarTransactionStore.class);
+        TransactionServiceImpl columnarService = new TransactionServiceImpl(transactionRepo, summaryRepo, summaryService,
+                sketchService, meterRegistry, Optional.of(columnarStore), idempotencyKeys, categoryVersions);
+
+        when(columnarStore.findStatisticsByCategoryAndYear("MyMonthlyDD", 2020)).thenReturn(new SpendStatistics(3, 4000L, 60000L, 69460L));
+        StatisticsDto response = columnarService.getYearlyStatisticsByCategory("MyMonthlyDD", 2020);
+
+        assertAll(
+                () -> assertThat(response.average_spend()).isEqualByComparingTo("231.53"),
+                () -> assertThat(response.highest_spend()).isEqualByComparingTo("600")
+        );
+        verifyNoInteractions(summaryRepo);
+    }
+
+    @Test
+    void getYearlyDistributionByCategory_TransactionFound_shouldReturnSketchDistribution() {
+        SpendDistributionDto distribution = SpendDistributionDto.builder()
+                .transaction_count(2)
+                .p50_spend(new BigDecimal("40.00"))
+                .distinct_vendors(2)
+                .build();
+        when(sketchService.findDistributionByCategoryAndYear("MyMonthlyDD", 2020)).thenReturn(Optional.of(distribution));
+
+        SpendDistributionDto response = transactionService.getYearlyDistributionByCategory("MyMonthlyDD", 2020);
+
+        assertAll(
+                () -> assertThat(response).isEqualTo(distribution)
+        );
+    }
+
+    @Test
+    void getYearlyDistributionByCategory_CategoryFound_NoTransactionForGivenYear_shouldThrowException() {
+        when(sketchService.findDistributionByCategoryAndYear("MyMonthlyDD", 2022)).thenReturn(Optional.empty());
+        when(summaryRepo.existsByIdCategory("MyMonthlyDD")).thenReturn(true);
+
+        Exception exception = assertThrows(TransactionNotFound.class, () -> transactionService.getYearlyDistributionByCategory("MyMonthlyDD", 2022));
+
+        assertThat(exception.getMessage()).isEqualTo("No transactions found for the category: MyMonthlyDD in 2022");
+    }
+
+    @Test
+    void saveTransactions_TransactionsSaved_shouldBatchInsertAndUpdateSummary() {
+        List<TransactionRequestDto> input = Arrays.asList(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"),
+                new TransactionRequestDto(LocalDate.parse("2022-10-28"), "CYBG", "direct_debit", new BigDecimal("200"), "Groceries"));
+
+        when(transactionRepo.saveAllInBatches(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TransactionDto> saved = transactionService.saveTransactions(input).transactions();
+
+        assertAll(
+                () -> assertThat(saved).hasSize(2),
+                () -> assertThat(saved.get(1).type()).isEqualTo("DIRECT_DEBIT"),
+                () -> assertThat(saved.get(0).amount()).isEqualTo(new BigDecimal("600.00")),
+                () -> assertThat(saved.get(0).currency()).isEqualTo("GBP"),
+                () -> assertThat(meterRegistry.summary("transaction.save.batch.size").totalAmount()).isEqualTo(2)
+        );
+        verify(summaryService, times(1)).accumulate(anyList());
+        verify(categoryVersions).recordSaved(Set.of("MyMonthlyDD", "Groceries"));
+    }
+
+    @Test
+    void saveTransactions_RepeatedTransactions_shouldSaveEachIdempotencyKeyOnce() {
+        TransactionRequestDto gym = new TransactionRequestDto(LocalDate.parse("2020-10-28"), "PureGym", "direct_debit",
+                new BigDecimal("40"), null, "MyMonthlyDD", "gym-2020-10");
+        TransactionRequestDto rent = new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "direct_debit",
+                new BigDecimal("600"), null, "MyMonthlyDD", "rent-2020-10");
+        TransactionRequestDto rentResent = new TransactionRequestDto(LocalDate.parse("2020-10-29"), "CYBG", "direct_debit",
+                new BigDecimal("600"), null, "MyMonthlyDD", "rent-2020-10");
+        String gymKey = TransactionMapper.toEntity(gym).getIdempotencyKey();
+
+        when(idempotencyKeys.findSaved(anyCollection())).thenReturn(new HashSet<>(Set.of(gymKey)));
+        when(transactionRepo.saveAllInBatches(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SaveResultDto result = transactionService.saveTransactions(List.of(gym, rent, rentResent));
+
+        assertAll(
+                () -> assertThat(result.transactions()).extracting(TransactionDto::date).containsExactly(LocalDate.parse("2020-10-28")),
+                () -> assertThat(result.transactions()).extracting(TransactionDto::vendor).containsExactly("CYBG"),
+                () -> assertThat(result.deduplicated()).isEqualTo(2),
+                () -> assertThat(meterRegistry.counter("transaction.save.deduplicated").count()).isEqualTo(2)
+        );
+        verify(idempotencyKeys).recordSaved(List.of(TransactionMapper.toEntity(rent).getIdempotencyKey()));
+    }
+
+    @Test
+    void saveTransactions_IdenticalTransactionsWithoutKeys_shouldSaveBoth() {
+        TransactionRequestDto coffee = new TransactionRequestDto(LocalDate.parse("2020-10-28"), "Costa", "card",
+                new BigDecimal("3.20"), "Coffee");
+
+        when(transactionRepo.saveAllInBatches(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SaveResultDto result = transactionService.saveTransactions(List.of(coffee, coffee));
+
+        assertAll(
+                () -> assertThat(result.transactions()).hasSize(2),
+                () -> assertThat(result.deduplicated()).isZero()
+        );
+        verify(idempotencyKeys, never()).findSaved(anyCollection());
+        verify(idempotencyKeys).recordSaved(List.of());
+    }
+
+    @Test
+    void saveTransactions_ContentKeysEnabled_shouldSkipRepeatedContent() {
+        ReflectionTestUtils.setField(transactionService, "contentKeys", true);
+        TransactionRequestDto coffee = new TransactionRequestDto(LocalDate.parse("2020-10-28"), "Costa", "card",
+                new BigDecimal("3.20"), "Coffee");
+
+        when(idempotencyKeys.findSaved(anyCollection())).thenReturn(new HashSet<>());
+        when(transactionRepo.saveAllInBatches(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SaveResultDto result = transactionService.saveTransactions(List.of(coffee, coffee));
+
+        assertAll(
+                () -> assertThat(result.transactions()).hasSize(1),
+                () -> assertThat(result.deduplicated()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void saveTransactions_KeySavedConcurrently_shouldThrowDuplicateTransactionException() {
+        List<TransactionRequestDto> input = List.of(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"));
+
+        when(transactionRepo.saveAllInBatches(anyList())).thenThrow(new DataIntegrityViolationException("uk_transaction_idempotency_key"));
+
+        Exception caughtException = assertThrows(DuplicateTransactionException.class, () -> transactionService.saveTransactions(input));
+
+        assertThat(caughtException.getMessage()).isEqualTo("Transactions were saved concurrently by another request, please retry");
+        verify(idempotencyKeys, never()).recordSaved(anyCollection());
+    }
+
+    @Test
+    void saveTransactions_OtherConstraintViolated_shouldThrowDatabaseFetchException() {
+        List<TransactionRequestDto> input = List.of(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"));
+
+        when(transactionRepo.saveAllInBatches(anyList())).thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"CURRENCY\""));
+
+        Exception caughtException = assertThrows(DatabaseFetchException.class, () -> transactionService.saveTransactions(input));
+
+        assertThat(caughtException.getMessage()).isEqualTo("Error storing transactions to database");
+    }
+
+    @Test
+    void saveTransactions_AmountFinerThanPence_shouldRejectWithoutSaving() {
+        List<TransactionRequestDto> input = List.of(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", new BigDecimal("10.005"), "MyMonthlyDD"));
+
+        Exception exception = assertThrows(InvalidTransactionException.class, () -> transactionService.saveTransactions(input));
+
+        assertThat(exception.getMessage()).isEqualTo("amount must have at most 2 decimal places: 10.005");
+        verify(transactionRepo, never()).saveAllInBatches(anyList());
+    }
+
+    @Test
+    void saveTransactions_AmountBeyondLong_shouldRejectAsOutOfRange() {
+        List<TransactionRequestDto> input = List.of(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", new BigDecimal("92233720368547758.08"), "MyMonthlyDD"));
+
+        Exception exception = assertThrows(InvalidTransactionException.class, () -> transactionService.saveTransactions(input));
+
+        assertThat(exception.getMessage()).isEqualTo("amount out of range: 92233720368547758.08");
+        verify(transactionRepo, never()).saveAllInBatches(anyList());
+    }
+
+    @Test
+    void saveTransactions_MissingDate_shouldRejectWithoutSaving() {
+        List<TransactionRequestDto> input = List.of(
+                new TransactionRequestDto(null, "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"));
+
+        Exception exception = assertThrows(InvalidTransactionException.class, () -> transactionService.saveTransactions(input));
+
+        assertThat(exception.getMessage()).isEqualTo("date is required");
+        verify(transactionRepo, never()).saveAllInBatches(anyList());
+        verify(summaryService, never()).accumulate(anyList());
+    }
+
+    @Test
+    void saveTransactions_DBIssue_shouldThrowDatabaseFetchException() {
+        List<TransactionRequestDto> input = List.of(
+                new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", new BigDecimal("600"), "MyMonthlyDD"));
+
+        when(transactionRepo.saveAllInBatches(anyList())).thenThrow(new RuntimeException("connection error"));
+
+        Exception caughtException = assertThrows(DatabaseFetchException.class, () -> transactionService.saveTransactions(input));
+
+        assertThat(caughtException.getMessage()).isEqualTo("Error storing transactions to database");
+        verify(summaryService, never()).accumulate(anyList());
+    }
+
     @Test
     void common_DBConnectionIssue_shouldThrowDatabaseFetchException(){
 
-        when(transactionRepo.findByCategory(anyString())).thenThrow(new DatabaseFetchException("connection error"));
+        when(transactionRepo.findLatestByCategory(anyString(), any(Limit.class))).thenThrow(new DatabaseFetchException("connection error"));
 
-        Exception caughtException = assertThrows(DatabaseFetchException.class, () -> transactionService.getLatestByCategory("MyMonthlyDD"));
+        Exception caughtException = assertThrows(DatabaseFetchException.class, () -> transactionService.getLatestByCategory("MyMonthlyDD", 20));
 
         assertThat(caughtException.getMessage()).isEqualTo("Error fetching transactions from database");
 
     }
+
+    @Test
+    void getTotalSpendByCategory_DBConnectionIssue_shouldThrowDatabaseFetchException(){
+
+        when(summaryRepo.sumMinorByCategory(anyString())).thenThrow(new RuntimeException("connection error"));
+
+        Exception caughtException = assertThrows(DatabaseFetchException.class, () -> transactionService.getTotalSpendByCategory("MyMonthlyDD"));
+
+        assertThat(caughtException.getMessage()).isEqualTo("Error fetching transactions from database");
+
+    }
+
+    private record MonthlyAverage(int getYear, int getMonth, long getCount, long getTotal) implements MonthlyAverageView {
+    }
+
+    private record SpendStatistics(long getCount, Long getLowest, Long getHighest, Long getTotal) implements SpendStatisticsView {
+    }
 }
\ No newline at end of file
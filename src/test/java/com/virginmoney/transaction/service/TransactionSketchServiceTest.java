@@ -0,0 +1,184 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.dto.SpendDistributionDto;
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySketchEntity;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.TransactionType;
+import com.virginmoney.transaction.repo.CategoryMonthlySketchRepo;
+import com.virginmoney.transaction.repo.TransactionRepo;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.kll.KllLongsSketch;
+import org.apache.datasketches.memory.Memory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSketchServiceTest {
+
+    @Mock
+    private CategoryMonthlySketchRepo sketchRepo;
+
+    @Mock
+    private TransactionRepo transactionRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CategoryVersions categoryVersions;
+
+    private TransactionSketchService sketchService;
+
+    private final CategoryMonthKey october = new CategoryMonthKey("MyMonthlyDD", 2020, 10);
+
+    @BeforeEach
+    void setUp() {
+        sketchService = new TransactionSketchService(sketchRepo, transactionRepo, transactionManager, categoryVersions,
+                Duration.ofSeconds(1));
+    }
+
+    @Test
+    void flush_ExistingCategoryMonth_shouldMergeIntoLockedSketch() {
+        when(sketchRepo.findForUpdateById(october)).thenReturn(Optional.of(sketch(october, "PureGym", 4000L)));
+
+        sketchService.accumulate(List.of(
+                new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.DIRECT_DEBIT, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+        int flushed = sketchService.flush();
+
+        CategoryMonthlySketchEntity saved = savedSketch();
+        KllLongsSketch amounts = KllLongsSketch.heapify(Memory.wrap(saved.getAmountSketch()));
+        HllSketch vendors = HllSketch.heapify(saved.getVendorSketch());
+        assertAll(
+                () -> assertThat(flushed).isEqualTo(1),
+                () -> assertThat(saved.getId()).isEqualTo(october),
+                () -> assertThat(amounts.getN()).isEqualTo(2),
+                () -> assertThat(amounts.getMinItem()).isEqualTo(4000L),
+                () -> assertThat(amounts.getMaxItem()).isEqualTo(60000L),
+                () -> assertThat(Math.round(vendors.getEstimate())).isEqualTo(2)
+        );
+        verify(sketchRepo).insertIfAbsent("MyMonthlyDD", 2020, 10);
+        verify(categoryVersions).recordSaved(Set.of("MyMonthlyDD"));
+    }
+
+    @Test
+    void flush_NewCategoryMonth_shouldFillInsertedEmptyRow() {
+        when(sketchRepo.findForUpdateById(october)).thenReturn(Optional.of(new CategoryMonthlySketchEntity(october, new byte[0], new byte[0])));
+
+        sketchService.accumulate(List.of(
+                new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.DIRECT_DEBIT, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+        sketchService.flush();
+
+        CategoryMonthlySketchEntity saved = savedSketch();
+        assertAll(
+                () -> assertThat(KllLongsSketch.heapify(Memory.wrap(saved.getAmountSketch())).getN()).isEqualTo(1),
+                () -> assertThat(Math.round(HllSketch.heapify(saved.getVendorSketch()).getEstimate())).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void flush_SeveralSavesOfOneMonth_shouldReadAndWriteTheRowOnce() {
+        when(sketchRepo.findForUpdateById(october)).thenReturn(Optional.of(new CategoryMonthlySketchEntity(october, new byte[0], new byte[0])));
+
+        sketchService.accumulate(List.of(
+                new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.DIRECT_DEBIT, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+        sketchService.accumulate(List.of(
+                new TransactionEntity(2, Date.valueOf("2020-10-30"), "PureGym", TransactionType.DIRECT_DEBIT, 4000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+        sketchService.flush();
+
+        verify(sketchRepo, times(1)).findForUpdateById(october);
+        assertThat(KllLongsSketch.heapify(Memory.wrap(savedSketch().getAmountSketch())).getN()).isEqualTo(2);
+        assertThat(sketchService.flush()).isZero();
+    }
+
+    @Test
+    void flush_RowLockFails_shouldQueueMonthForNextFlush() {
+        when(sketchRepo.findForUpdateById(october))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(Optional.of(sketch(october, "PureGym", 4000L)));
+
+        sketchService.accumulate(List.of(
+                new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.DIRECT_DEBIT, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+
+        assertThat(sketchService.flush()).isZero();
+        verify(categoryVersions, never()).recordSaved(anySet());
+
+        assertThat(sketchService.flush()).isEqualTo(1);
+        assertThat(KllLongsSketch.heapify(Memory.wrap(savedSketch().getAmountSketch())).getN()).isEqualTo(2);
+    }
+
+    @Test
+    void accumulate_SaveRolledBack_shouldQueueNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sketchService.accumulate(List.of(
+                    new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.DIRECT_DEBIT, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(sketchService.flush()).isZero();
+        verifyNoInteractions(sketchRepo);
+    }
+
+    @Test
+    void findDistributionByCategoryAndYear_MonthsFound_shouldMergeMonthlySketches() {
+        when(sketchRepo.findByIdCategoryAndIdYear("MyMonthlyDD", 2020)).thenReturn(List.of(
+                sketch(new CategoryMonthKey("MyMonthlyDD", 2020, 10), "CYBG", 60000L, 60000L, 4000L),
+                sketch(new CategoryMonthKey("MyMonthlyDD", 2020, 11), "CYBG", 60000L, 5460L)));
+
+        Optional<SpendDistributionDto> distribution = sketchService.findDistributionByCategoryAndYear("MyMonthlyDD", 2020);
+
+        assertThat(distribution).isPresent();
+        assertAll(
+                () -> assertThat(distribution.get().transaction_count()).isEqualTo(5),
+                () -> assertThat(distribution.get().p50_spend()).isEqualByComparingTo("600"),
+                () -> assertThat(distribution.get().p99_spend()).isEqualByComparingTo("600"),
+                () -> assertThat(distribution.get().distinct_vendors()).isEqualTo(1),
+                () -> assertThat(distribution.get().distinct_vendors_lower_bound()).isLessThanOrEqualTo(1),
+                () -> assertThat(distribution.get().distinct_vendors_upper_bound()).isGreaterThanOrEqualTo(1)
+        );
+    }
+
+    @Test
+    void findDistributionByCategoryAndYear_NoMonths_shouldReturnEmpty() {
+        when(sketchRepo.findByIdCategoryAndIdYear("MyMonthlyDD", 2022)).thenReturn(List.of());
+
+        assertThat(sketchService.findDistributionByCategoryAndYear("MyMonthlyDD", 2022)).isEmpty();
+    }
+
+    private CategoryMonthlySketchEntity savedSketch() {
+        ArgumentCaptor<CategoryMonthlySketchEntity> saved = ArgumentCaptor.forClass(CategoryMonthlySketchEntity.class);
+        verify(sketchRepo).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private static CategoryMonthlySketchEntity sketch(CategoryMonthKey key, String vendor, long... amounts) {
+        KllLongsSketch amountSketch = KllLongsSketch.newHeapInstance(TransactionSketchService.AMOUNT_SKETCH_K);
+        for (long amount : amounts) {
+            amountSketch.update(amount);
+        }
+        HllSketch vendorSketch = new HllSketch(TransactionSketchService.VENDOR_SKETCH_LG_K);
+        vendorSketch.update(vendor);
+        return new CategoryMonthlySketchEntity(key, amountSketch.toByteArray(), vendorSketch.toCompactByteArray());
+    }
+}
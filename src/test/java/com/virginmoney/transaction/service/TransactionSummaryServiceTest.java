@@ -0,0 +1,92 @@
+package com.virginmoney.transaction.service;
+
+import com.virginmoney.transaction.model.CategoryMonthKey;
+import com.virginmoney.transaction.model.CategoryMonthlySummaryEntity;
+import com.virginmoney.transaction.model.Money;
+import com.virginmoney.transaction.model.TransactionEntity;
+import com.virginmoney.transaction.model.TransactionType;
+import com.virginmoney.transaction.repo.CategoryMonthlySummaryRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSummaryServiceTest {
+
+    @Mock
+    private CategoryMonthlySummaryRepo summaryRepo;
+
+    @Mock
+    private TransactionSketchService sketchService;
+
+    @Captor
+    private ArgumentCaptor<Collection<CategoryMonthlySummaryEntity>> deltas;
+
+    private TransactionSummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        summaryService = new TransactionSummaryService(summaryRepo, sketchService);
+    }
+
+    @Test
+    void accumulate_CategoryMonth_shouldUpsertRollupInPlace() {
+        CategoryMonthKey october = new CategoryMonthKey("MyMonthlyDD", 2020, 10);
+
+        summaryService.accumulate(Arrays.asList(
+                new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.CARD, 60000L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null),
+                new TransactionEntity(2, Date.valueOf("2020-10-30"), "Morrisons", TransactionType.INTERNET, 5460L, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null)));
+
+        verify(summaryRepo).accumulateAll(List.of(new CategoryMonthlySummaryEntity(october, 2, 65460, 5460, 60000)));
+        verify(summaryRepo, never()).save(any());
+        verify(sketchService).accumulate(anyList());
+    }
+
+    @Test
+    void accumulate_TwoCategoryMonths_shouldUpdateEachOnce() {
+        summaryService.accumulate(Arrays.asList(
+                new TransactionEntity(3, Date.valueOf("2021-03-31"), "Tesco", TransactionType.CARD, 1200L, Money.DEFAULT_CURRENCY, "Groceries", null),
+                new TransactionEntity(4, Date.valueOf("2021-04-04"), "ALDI", TransactionType.BANK_TRANSFER, 42800L, Money.DEFAULT_CURRENCY, "Groceries", null)));
+
+        verify(summaryRepo).accumulateAll(deltas.capture());
+        assertThat(deltas.getValue()).containsExactlyInAnyOrder(
+                new CategoryMonthlySummaryEntity(new CategoryMonthKey("Groceries", 2021, 3), 1, 1200, 1200, 1200),
+                new CategoryMonthlySummaryEntity(new CategoryMonthKey("Groceries", 2021, 4), 1, 42800, 42800, 42800));
+    }
+
+    @Test
+    void accumulate_TotalOverflowsLong_shouldFailInsteadOfWrapping() {
+        List<TransactionEntity> transactions = Arrays.asList(
+                new TransactionEntity(1, Date.valueOf("2020-10-28"), "CYBG", TransactionType.CARD, Long.MAX_VALUE, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null),
+                new TransactionEntity(2, Date.valueOf("2020-10-30"), "Morrisons", TransactionType.INTERNET, 1, Money.DEFAULT_CURRENCY, "MyMonthlyDD", null));
+
+        assertThrows(ArithmeticException.class, () -> summaryService.accumulate(transactions));
+
+        verifyNoInteractions(summaryRepo);
+    }
+
+    @Test
+    void rebuild_shouldReplaceRollupFromTransactionTable() {
+        when(summaryRepo.rebuildFromTransactions()).thenReturn(4);
+
+        int rows = summaryService.rebuild();
+
+        assertThat(rows).isEqualTo(4);
+        verify(summaryRepo).deleteAllInBatch();
+        verify(sketchService).rebuild();
+    }
+}
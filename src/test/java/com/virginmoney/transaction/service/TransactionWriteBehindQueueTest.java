@@ -0,0 +1,196 @@
+package com.virginmoney.transaction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.virginmoney.transaction.dto.SaveResultDto;
+import com.virginmoney.transaction.dto.SaveTicketDto;
+import com.virginmoney.transaction.dto.TransactionRequestDto;
+import com.virginmoney.transaction.exception.DatabaseBusyException;
+import com.virginmoney.transaction.exception.DatabaseFetchException;
+import com.virginmoney.transaction.exception.DuplicateTransactionException;
+import com.virginmoney.transaction.exception.InvalidTransactionException;
+import com.virginmoney.transaction.exception.SaveQueueFullException;
+import com.virginmoney.transaction.model.SaveStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionWriteBehindQueueTest {
+
+    private static final TransactionRequestDto GYM = new TransactionRequestDto(LocalDate.parse("2020-10-28"),
+            "PureGym", "direct_debit", new BigDecimal("40"), null, "MyMonthlyDD", "gym-2020-10");
+
+    private static final TransactionRequestDto RENT = new TransactionRequestDto(LocalDate.parse("2020-10-28"),
+            "CYBG", "direct_debit", new BigDecimal("600.00"), null, "MyMonthlyDD", "rent-2020-10");
+
+    @Mock
+    private TransactionService transactionService;
+
+    @TempDir
+    private Path journalDir;
+
+    private final List<TransactionWriteBehindQueue> queues = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (TransactionWriteBehindQueue queue : queues) {
+            queue.destroy();
+        }
+    }
+
+    @Test
+    void enqueue_SavesQueuedTogether_shouldCommitThemInOneSave() throws Exception {
+        TransactionWriteBehindQueue queue = newQueue(10);
+
+        SaveTicketDto first = queue.enqueue(List.of(GYM));
+        SaveTicketDto second = queue.enqueue(List.of(RENT));
+        queue.afterSingletonsInstantiated();
+
+        verify(transactionService, timeout(5000)).saveTransactions(List.of(GYM, RENT));
+        assertAll(
+                () -> assertThat(first.status()).isEqualTo(SaveStatus.QUEUED),
+                () -> assertThat(awaitStatus(queue, first.ticket(), SaveStatus.SAVED).transactions()).isEqualTo(1),
+                () -> assertThat(awaitStatus(queue, second.ticket(), SaveStatus.SAVED).error()).isNull()
+        );
+    }
+
+    @Test
+    void enqueue_QueueFull_shouldThrowSaveQueueFull() throws Exception {
+        TransactionWriteBehindQueue queue = newQueue(2);
+        queue.enqueue(List.of(GYM, RENT));
+
+        Exception exception = assertThrows(SaveQueueFullException.class, () -> queue.enqueue(List.of(GYM)));
+
+        assertThat(exception.getMessage()).isEqualTo("Save queue is full, please retry");
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void enqueue_InvalidTransaction_shouldRejectWithoutJournaling() throws Exception {
+        TransactionWriteBehindQueue queue = newQueue(10);
+        TransactionRequestDto noAmount = new TransactionRequestDto(LocalDate.parse("2020-10-28"), "CYBG", "card", null, "MyMonthlyDD");
+
+        Exception exception = assertThrows(InvalidTransactionException.class, () -> queue.enqueue(List.of(GYM, noAmount)));
+
+        assertThat(exception.getMessage()).isEqualTo("amount is required");
+        assertThat(Files.size(journalDir.resolve("saves.journal"))).isZero();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_SavesJournaledBeforeCrash_shouldReplayThemUnderTheSameTicket() throws Exception {
+        TransactionWriteBehindQueue crashed = newQueue(10);
+        String ticket = crashed.enqueue(List.of(GYM, RENT)).ticket();
+        crashed.destroy();
+
+        TransactionWriteBehindQueue restarted = newQueue(10);
+        restarted.afterSingletonsInstantiated();
+
+        verify(transactionService, timeout(5000)).saveTransactions(List.of(GYM, RENT));
+        assertThat(awaitStatus(restarted, ticket, SaveStatus.SAVED).transactions()).isEqualTo(2);
+        assertThat(Files.size(journalDir.resolve("saves.journal"))).isZero();
+    }
+
+    @Test
+    void enqueue_TransactionsWithoutKeys_shouldKeyThemByTicketForReplay() throws Exception {
+        TransactionRequestDto coffee = new TransactionRequestDto(LocalDate.parse("2020-10-28"), "Costa", "card",
+                new BigDecimal("3.20"), "Coffee");
+        TransactionWriteBehindQueue queue = newQueue(10);
+        String ticket = queue.enqueue(List.of(coffee, coffee, GYM)).ticket();
+        queue.afterSingletonsInstantiated();
+
+        verify(transactionService, timeout(5000)).saveTransactions(List.of(
+                coffee.withIdempotencyKey("write-behind:" + ticket + ":0"),
+                coffee.withIdempotencyKey("write-behind:" + ticket + ":1"),
+                GYM));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_OneSaveKeepsFailing_shouldSaveTheOthersAndMarkItFailed() throws Exception {
+        when(transactionService.saveTransactions(anyList())).thenAnswer(invocation -> {
+            if (invocation.<List<TransactionRequestDto>>getArgument(0).contains(RENT)) {
+                throw new DatabaseFetchException("Error storing transactions to database");
+            }
+            return new SaveResultDto(List.of(), 0);
+        });
+        TransactionWriteBehindQueue queue = newQueue(10);
+        String saved = queue.enqueue(List.of(GYM)).ticket();
+        String failed = queue.enqueue(List.of(RENT)).ticket();
+        queue.afterSingletonsInstantiated();
+
+        SaveTicketDto failedTicket = awaitStatus(queue, failed, SaveStatus.FAILED);
+
+        assertAll(
+                () -> assertThat(failedTicket.error()).isEqualTo("Error storing transactions to database"),
+                () -> assertThat(awaitStatus(queue, saved, SaveStatus.SAVED).status()).isEqualTo(SaveStatus.SAVED),
+                // combined, then each alone; not a transient failure, so not retried
+                () -> verify(transactionService, times(1)).saveTransactions(List.of(RENT)),
+                () -> assertThat(Files.size(journalDir.resolve("saves.journal"))).isZero()
+        );
+    }
+
+    @Test
+    void afterSingletonsInstantiated_SaveKeepsTimingOut_shouldRetryUpToMaxAttempts() throws Exception {
+        when(transactionService.saveTransactions(anyList())).thenThrow(new DatabaseFetchException(
+                "Error storing transactions to database", new CannotAcquireLockException("Timeout trying to lock table")));
+        TransactionWriteBehindQueue queue = newQueue(10);
+        String failed = queue.enqueue(List.of(RENT)).ticket();
+        queue.afterSingletonsInstantiated();
+
+        assertThat(awaitStatus(queue, failed, SaveStatus.FAILED).error()).isEqualTo("Error storing transactions to database");
+        verify(transactionService, times(3)).saveTransactions(List.of(RENT));
+    }
+
+    @Test
+    void isTransient_shouldRetryOnlyTimeoutsBusyAndConcurrentKeys() {
+        assertAll(
+                () -> assertThat(TransactionWriteBehindQueue.isTransient(new DatabaseFetchException("save",
+                        new QueryTimeoutException("timeout")))).isTrue(),
+                () -> assertThat(TransactionWriteBehindQueue.isTransient(new DatabaseBusyException("busy"))).isTrue(),
+                () -> assertThat(TransactionWriteBehindQueue.isTransient(new DuplicateTransactionException("retry"))).isTrue(),
+                () -> assertThat(TransactionWriteBehindQueue.isTransient(new DatabaseFetchException("save",
+                        new DataIntegrityViolationException("NULL not allowed")))).isFalse(),
+                () -> assertThat(TransactionWriteBehindQueue.isTransient(new InvalidTransactionException("date is required"))).isFalse()
+        );
+    }
+
+    private TransactionWriteBehindQueue newQueue(int capacity) throws IOException {
+        TransactionWriteBehindQueue queue = new TransactionWriteBehindQueue(transactionService, new ObjectMapper(),
+                new SimpleMeterRegistry(), capacity, 100, 3, Duration.ofMillis(1), Duration.ofMinutes(1),
+                journalDir.resolve("saves.journal").toString());
+        queues.add(queue);
+        return queue;
+    }
+
+    private static SaveTicketDto awaitStatus(TransactionWriteBehindQueue queue, String ticket, SaveStatus status)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        SaveTicketDto current = queue.getTicket(ticket);
+        while (current.status() != status && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            current = queue.getTicket(ticket);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,7 @@
+INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (1, DATE '2020-10-28', 'PureGym', 2, 4000, 'GBP', 'MyMonthlyDD');
+INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (2, DATE '2020-09-30', 'McMillan', 1, 1000, 'GBP', '');
+INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (3, DATE '2020-11-01', 'Morrisons', 0, 1040, 'GBP', 'Groceries');
+INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (4, DATE '2020-10-01', 'M&S', 0, 599, 'GBP', 'Groceries');
+INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (5, DATE '2021-10-28', 'CYBG', 2, 60000, 'GBP', 'MyMonthlyDD');
+INSERT INTO transaction (id, date, vendor, type, amount_minor, currency, category) VALUES (52, DATE '2020-10-28', 'CYBG', 2, 60000, 'GBP', 'MyMonthlyDD');
+ALTER SEQUENCE transaction_seq RESTART WITH 151;